@@ -0,0 +1,93 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.example.model.Trainee;
+import org.example.model.Trainer;
+import org.example.model.Training;
+import org.example.model.TrainingType;
+import org.example.responseBodies.TraineeDTO;
+import org.example.responseBodies.TrainerDTO;
+import org.example.responseBodies.TrainingDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoBenchmark {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private Trainee trainee;
+    private Trainer trainer;
+    private Training training;
+
+    private TraineeDTO traineeDTO;
+    private TrainerDTO trainerDTO;
+    private TrainingDTO trainingDTO;
+
+    @Setup
+    public void setUp() {
+        trainee = new Trainee("John", "Smith", "John.Smith", "secret", true,
+                LocalDate.of(1990, 5, 17), "12 Main Street");
+        trainer = new Trainer("Jane", "Doe", "Jane.Doe", "secret", true, "Yoga");
+
+        training = new Training(trainee, trainer, "Morning yoga", new TrainingType("Yoga"),
+                LocalDate.of(2025, 3, 14), 60);
+
+        traineeDTO = new TraineeDTO(trainee);
+        trainerDTO = new TrainerDTO(trainer);
+        trainingDTO = new TrainingDTO(training);
+    }
+
+    @Benchmark
+    public TraineeDTO traineeDTO() {
+        return new TraineeDTO(trainee);
+    }
+
+    @Benchmark
+    public TrainerDTO trainerDTO() {
+        return new TrainerDTO(trainer);
+    }
+
+    @Benchmark
+    public TrainingDTO trainingDTO() {
+        return new TrainingDTO(training);
+    }
+
+    @Benchmark
+    public byte[] serializeTraineeDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(traineeDTO);
+    }
+
+    @Benchmark
+    public byte[] serializeTrainerDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(trainerDTO);
+    }
+
+    @Benchmark
+    public byte[] serializeTrainingDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(trainingDTO);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerializeTrainingDTO() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new TrainingDTO(training));
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.benchmark;
+
+import org.example.util.PasswordGenerator;
+import org.example.util.PasswordGeneratorImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordGeneratorBenchmark {
+
+    // one generator shared by every benchmark thread, like the singleton bean
+    private final PasswordGenerator passwordGenerator = new PasswordGeneratorImpl();
+
+    @Benchmark
+    @Threads(1)
+    public String singleThread() {
+        return passwordGenerator.generateRandomPassword();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String contended() {
+        return passwordGenerator.generateRandomPassword();
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.benchmark;
+
+import org.example.authorization.VerifiedCredentialsCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// cost of one authentication before (plain text) and after (bcrypt, with and without the verified-credential cache)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordVerificationBenchmark {
+
+    private static final String RAW_PASSWORD = "aB3dE6gH9k";
+
+    private PasswordEncoder delegating;
+    private PasswordEncoder cached;
+
+    private String noopHash;
+    private String bcryptHash;
+
+    @Setup
+    public void setUp() {
+        delegating = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        cached = new VerifiedCredentialsCache(delegating, 16, 10_000, Duration.ofMinutes(10));
+
+        noopHash = "{noop}" + RAW_PASSWORD;
+        bcryptHash = delegating.encode(RAW_PASSWORD);
+
+        cached.matches(RAW_PASSWORD, bcryptHash);
+    }
+
+    @Benchmark
+    public boolean plainText() {
+        return delegating.matches(RAW_PASSWORD, noopHash);
+    }
+
+    @Benchmark
+    public boolean bcrypt() {
+        return delegating.matches(RAW_PASSWORD, bcryptHash);
+    }
+
+    @Benchmark
+    public boolean bcryptCached() {
+        return cached.matches(RAW_PASSWORD, bcryptHash);
+    }
+}
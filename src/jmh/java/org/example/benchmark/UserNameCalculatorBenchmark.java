@@ -0,0 +1,65 @@
+package org.example.benchmark;
+
+import org.example.Dao.UserDao;
+import org.example.model.User;
+import org.example.util.UserNameCalculator;
+import org.example.util.UserNameCalculatorImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserNameCalculatorBenchmark {
+
+    // how many users already share the base username
+    @Param({"0", "10", "1000"})
+    private int existingUsers;
+
+    private UserNameCalculator userNameCalculator;
+
+    @Setup
+    public void setUp() {
+        List<String> trainees = new ArrayList<>();
+        List<String> trainers = new ArrayList<>();
+        for (int i = 0; i < existingUsers; i++) {
+            String userName = i == 0 ? "John.Smith" : "John.Smith" + i;
+            (i % 2 == 0 ? trainees : trainers).add(userName);
+        }
+
+        userNameCalculator = new UserNameCalculatorImpl(stubDao(trainees), stubDao(trainers));
+    }
+
+    @Benchmark
+    public String getUserName() {
+        return userNameCalculator.getUserName("John", "Smith");
+    }
+
+    // a plain proxy instead of a mock, so the measurement is not dominated by the mocking framework
+    @SuppressWarnings("unchecked")
+    private static <T extends User> UserDao<T> stubDao(List<String> userNames) {
+        return (UserDao<T>) Proxy.newProxyInstance(UserDao.class.getClassLoader(), new Class<?>[]{UserDao.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findUserNamesStartingWith"))
+                        return userNames;
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
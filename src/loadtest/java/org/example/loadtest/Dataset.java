@@ -0,0 +1,94 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+// synthetic users and trainings in the format BulkEntityLoader reads, generated from a fixed seed
+record Dataset(int trainers, int trainees, int trainingDays) {
+
+    static final String PASSWORD = "load-test-password";
+    static final LocalDate FIRST_DATE = LocalDate.of(2024, 1, 1);
+    static final String[] TRAINING_TYPES = {"Yoga", "Pilates", "Strength", "Cardio", "Boxing", "Stretching"};
+
+    static Dataset write(Path file, LoadTestOptions options, String encodedPassword) throws IOException {
+        Random random = new Random(options.seed());
+        int perTrainee = options.trainingsPerTrainee();
+
+        try (JsonGenerator json = new JsonFactory().createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+            json.writeStartObject();
+
+            json.writeArrayFieldStart("trainers");
+            for (int i = 0; i < options.trainers(); i++) {
+                json.writeStartObject();
+                json.writeNumberField("userId", i);
+                json.writeStringField("firstName", "Trainer");
+                json.writeStringField("lastName", "T" + i);
+                json.writeStringField("username", trainerName(i));
+                json.writeStringField("password", encodedPassword);
+                json.writeBooleanField("isActive", true);
+                json.writeStringField("specialization", TRAINING_TYPES[i % TRAINING_TYPES.length]);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("trainees");
+            for (int i = 0; i < options.trainees(); i++) {
+                json.writeStartObject();
+                json.writeNumberField("userId", i);
+                json.writeStringField("firstName", "Trainee");
+                json.writeStringField("lastName", "E" + i);
+                json.writeStringField("username", traineeName(i));
+                json.writeStringField("password", encodedPassword);
+                json.writeBooleanField("isActive", true);
+                json.writeStringField("dateOfBirth", FIRST_DATE.minusYears(20 + random.nextInt(30)).toString());
+                json.writeStringField("address", "Street " + i);
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            // one training per day for each trainee keeps every natural key unique
+            json.writeArrayFieldStart("trainings");
+            for (int i = 0; i < options.trainees(); i++) {
+                for (int day = 0; day < perTrainee; day++) {
+                    String type = TRAINING_TYPES[random.nextInt(TRAINING_TYPES.length)];
+                    json.writeStartObject();
+                    json.writeNumberField("traineeId", i);
+                    json.writeNumberField("trainerId", random.nextInt(options.trainers()));
+                    json.writeStringField("trainingName", type);
+                    json.writeStringField("trainingTypeName", type);
+                    json.writeStringField("trainingDate", FIRST_DATE.plusDays(day).toString());
+                    json.writeNumberField("trainingDuration", 30 + random.nextInt(4) * 15);
+                    json.writeEndObject();
+                }
+            }
+            json.writeEndArray();
+
+            json.writeEndObject();
+        }
+
+        return new Dataset(options.trainers(), options.trainees(), perTrainee);
+    }
+
+    String trainee(ThreadLocalRandom random) {
+        return traineeName(random.nextInt(trainees));
+    }
+
+    String trainer(ThreadLocalRandom random) {
+        return trainerName(random.nextInt(trainers));
+    }
+
+    private static String traineeName(int i) {
+        return "Trainee.E" + i;
+    }
+
+    private static String trainerName(int i) {
+        return "Trainer.T" + i;
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// every option is a --name=value argument, see the loadtest profile in pom.xml for the defaults
+record LoadTestOptions(int trainers, int trainees, int trainingsPerTrainee, int clients, Duration warmup,
+                       Duration duration, int poolSize, List<String> threadModes, Map<Scenario, Integer> mix,
+                       long seed, String resultFile) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("trainers", "50")),
+                Integer.parseInt(values.getOrDefault("trainees", "1000")),
+                Integer.parseInt(values.getOrDefault("trainings-per-trainee", "5")),
+                Integer.parseInt(values.getOrDefault("clients", "1000")),
+                Duration.parse("PT" + values.getOrDefault("warmup", "10s")),
+                Duration.parse("PT" + values.getOrDefault("duration", "30s")),
+                Integer.parseInt(values.getOrDefault("pool-size", "20")),
+                List.of(values.getOrDefault("threads", "platform,virtual").split(",")),
+                parseMix(values.getOrDefault("mix", "register=5,login=10,profile=40,create-training=15,trainings=30")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                values.getOrDefault("result-file", "target/loadtest-result.json"));
+
+        if (options.trainers() <= 0 || options.trainees() <= 0 || options.clients() <= 0)
+            throw new IllegalArgumentException("trainers, trainees and clients must be positive");
+        for (String mode : options.threadModes()) {
+            if (!mode.equals("platform") && !mode.equals("virtual"))
+                throw new IllegalArgumentException("Unknown thread mode " + mode + ", expected platform or virtual");
+        }
+        return options;
+    }
+
+    private static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0)
+                weights.put(Scenario.of(parts[0]), weight);
+        }
+
+        if (weights.isEmpty())
+            throw new IllegalArgumentException("The scenario mix must contain at least one positive weight");
+        return weights;
+    }
+}
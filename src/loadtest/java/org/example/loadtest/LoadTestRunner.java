@@ -0,0 +1,186 @@
+package org.example.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.example.GymApiApplication;
+import org.example.util.BulkEntityLoader;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// boots the application on the in-memory test database, seeds it and drives a weighted scenario mix over HTTP
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        List<ScenarioResult> results = new ArrayList<>();
+
+        for (String threadMode : options.threadModes()) {
+            results.addAll(run(options, threadMode));
+        }
+
+        print(results);
+
+        Path resultFile = Path.of(options.resultFile());
+        Files.createDirectories(resultFile.toAbsolutePath().getParent());
+        ObjectMapper mapper = JsonMapper.builder().findAndAddModules().enable(SerializationFeature.INDENT_OUTPUT).build();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("options", options);
+        report.put("results", results);
+        mapper.writeValue(resultFile.toFile(), report);
+        System.out.println("Results written to " + resultFile.toAbsolutePath());
+    }
+
+    private static List<ScenarioResult> run(LoadTestOptions options, String threadMode) throws Exception {
+        System.out.printf("%n== %s threads: booting and seeding %d trainers, %d trainees, %d trainings ==%n",
+                threadMode, options.trainers(), options.trainees(), options.trainees() * options.trainingsPerTrainee());
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(GymApiApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "logging.level.root=WARN",
+                        "spring.threads.virtual.enabled=" + threadMode.equals("virtual"),
+                        "spring.datasource.url=jdbc:h2:mem:loadtest-" + threadMode + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=" + options.poolSize(),
+                        "spring.jpa.properties.hibernate.generate_statistics=false")
+                .run();
+
+        Path seedFile = Files.createTempFile("gym-loadtest-", ".json");
+        try {
+            // one hash shared by every seeded user keeps seeding fast while logins still verify real bcrypt hashes
+            String encodedPassword = context.getBean(PasswordEncoder.class).encode(Dataset.PASSWORD);
+            Dataset dataset = Dataset.write(seedFile, options, encodedPassword);
+            context.getBean(BulkEntityLoader.class).load("file:" + seedFile.toAbsolutePath());
+
+            URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            System.out.printf("Warming up for %ds with %d clients%n", options.warmup().toSeconds(), options.clients());
+            drive(client, base, dataset, options, options.warmup());
+
+            System.out.printf("Measuring for %ds with %d clients%n", options.duration().toSeconds(), options.clients());
+            Map<Scenario, ScenarioStats> stats = drive(client, base, dataset, options, options.duration());
+
+            List<ScenarioResult> results = new ArrayList<>();
+            stats.forEach((scenario, scenarioStats) ->
+                    results.add(ScenarioResult.of(threadMode, scenario.id(), scenarioStats, options.duration())));
+            return results;
+        } finally {
+            Files.deleteIfExists(seedFile);
+            context.close();
+        }
+    }
+
+    private static Map<Scenario, ScenarioStats> drive(HttpClient client, URI base, Dataset dataset,
+                                                      LoadTestOptions options, Duration duration) throws Exception {
+        Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+        options.mix().keySet().forEach(scenario -> stats.put(scenario, new ScenarioStats()));
+
+        Scenario[] scenarios = options.mix().keySet().toArray(Scenario[]::new);
+        int[] cumulativeWeights = new int[scenarios.length];
+        int totalWeight = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            totalWeight += options.mix().get(scenarios[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        int weights = totalWeight;
+
+        // clients are virtual threads in both modes, so only the server side changes between runs
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < options.clients(); i++) {
+                running.add(clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Scenario scenario = pick(scenarios, cumulativeWeights, random.nextInt(weights));
+                        send(client, scenario, scenario.request(base, dataset, random), stats.get(scenario));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get();
+            }
+        }
+        return stats;
+    }
+
+    private static void send(HttpClient client, Scenario scenario, HttpRequest request, ScenarioStats stats)
+            throws InterruptedException {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            stats.latencies.recordValue(Math.max(1, (System.nanoTime() - started) / 1_000));
+            if (response.statusCode() != scenario.expectedStatus())
+                stats.errors.increment();
+        } catch (IOException e) {
+            stats.errors.increment();
+        }
+    }
+
+    private static Scenario pick(Scenario[] scenarios, int[] cumulativeWeights, int value) {
+        for (int i = 0; i < scenarios.length; i++) {
+            if (value < cumulativeWeights[i])
+                return scenarios[i];
+        }
+        return scenarios[scenarios.length - 1];
+    }
+
+    private static void print(List<ScenarioResult> results) {
+        System.out.printf("%n%-9s %-16s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "threads", "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        for (ScenarioResult r : results) {
+            System.out.printf("%-9s %-16s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    r.threads(), r.scenario(), r.requests(), r.errors(), r.throughput(),
+                    r.p50Ms(), r.p90Ms(), r.p99Ms(), r.p999Ms(), r.maxMs());
+        }
+    }
+
+    private static final class ScenarioStats {
+        private final Recorder latencies = new Recorder(3);
+        private final LongAdder errors = new LongAdder();
+    }
+
+    record ScenarioResult(String threads, String scenario, long requests, long errors, double throughput,
+                          double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        private static ScenarioResult of(String threads, String scenario, ScenarioStats stats, Duration duration) {
+            Histogram histogram = stats.latencies.getIntervalHistogram();
+            long requests = histogram.getTotalCount();
+            return new ScenarioResult(threads, scenario, requests, stats.errors.sum(),
+                    requests / (duration.toMillis() / 1000.0),
+                    histogram.getValueAtPercentile(50.0) / 1000.0, histogram.getValueAtPercentile(90.0) / 1000.0,
+                    histogram.getValueAtPercentile(99.0) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
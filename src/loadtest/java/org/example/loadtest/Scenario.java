@@ -0,0 +1,105 @@
+package org.example.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+enum Scenario {
+
+    REGISTER("register", 201) {
+        @Override
+        HttpRequest request(URI base, Dataset dataset, ThreadLocalRandom random) {
+            String json = "{\"firstName\":\"Load\",\"lastName\":\"Client" + random.nextInt(1_000_000) + "\"}";
+            return json(base.resolve("/trainees"), json).build();
+        }
+    },
+
+    LOGIN("login", 200) {
+        @Override
+        HttpRequest request(URI base, Dataset dataset, ThreadLocalRandom random) {
+            String username = dataset.trainee(random);
+            String json = "{\"username\":\"" + username + "\",\"password\":\"" + Dataset.PASSWORD + "\"}";
+            return json(base.resolve("/auth/login"), json).build();
+        }
+    },
+
+    PROFILE("profile", 200) {
+        @Override
+        HttpRequest request(URI base, Dataset dataset, ThreadLocalRandom random) {
+            String username = dataset.trainee(random);
+            return get(base.resolve("/trainees/" + username), username).build();
+        }
+    },
+
+    CREATE_TRAINING("create-training", 201) {
+        @Override
+        HttpRequest request(URI base, Dataset dataset, ThreadLocalRandom random) {
+            String trainer = dataset.trainer(random);
+            // each request gets its own date, so the natural key of trainee, trainer and date never collides
+            LocalDate date = Dataset.FIRST_DATE.plusDays(dataset.trainingDays() + NEXT_DAY.incrementAndGet());
+            String json = "{\"traineeUsername\":\"" + dataset.trainee(random) + "\",\"trainerUsername\":\"" + trainer +
+                    "\",\"trainingName\":\"" + Dataset.TRAINING_TYPES[random.nextInt(Dataset.TRAINING_TYPES.length)] +
+                    "\",\"trainingDate\":\"" + date + "\",\"duration\":60}";
+            return json(base.resolve("/trainings"), json)
+                    .header("Authorization", basic(trainer))
+                    .build();
+        }
+    },
+
+    TRAININGS("trainings", 200) {
+        @Override
+        HttpRequest request(URI base, Dataset dataset, ThreadLocalRandom random) {
+            String username = dataset.trainee(random);
+            return get(base.resolve("/trainees/" + username + "/trainings"), username).build();
+        }
+    };
+
+    private static final AtomicLong NEXT_DAY = new AtomicLong();
+
+    private final String id;
+    private final int expectedStatus;
+
+    Scenario(String id, int expectedStatus) {
+        this.id = id;
+        this.expectedStatus = expectedStatus;
+    }
+
+    abstract HttpRequest request(URI base, Dataset dataset, ThreadLocalRandom random);
+
+    String id() {
+        return id;
+    }
+
+    int expectedStatus() {
+        return expectedStatus;
+    }
+
+    static Scenario of(String id) {
+        for (Scenario scenario : values()) {
+            if (scenario.id.equals(id))
+                return scenario;
+        }
+        throw new IllegalArgumentException("Unknown scenario " + id);
+    }
+
+    private static HttpRequest.Builder json(URI uri, String body) {
+        return HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static HttpRequest.Builder get(URI uri, String username) {
+        return HttpRequest.newBuilder(uri)
+                .header("Authorization", basic(username))
+                .GET();
+    }
+
+    private static String basic(String username) {
+        return "Basic " + Base64.getEncoder().encodeToString(
+                (username + ":" + Dataset.PASSWORD).getBytes(StandardCharsets.UTF_8));
+    }
+}
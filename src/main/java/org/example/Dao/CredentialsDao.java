@@ -0,0 +1,13 @@
+package org.example.Dao;
+
+import org.example.model.UserCredentials;
+
+import java.util.Optional;
+
+public interface CredentialsDao {
+
+    Optional<UserCredentials> findByUserName(String username);
+
+    void updatePassword(String username, String encodedPassword);
+
+}
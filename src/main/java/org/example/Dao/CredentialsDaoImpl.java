@@ -0,0 +1,53 @@
+package org.example.Dao;
+
+import org.example.model.UserCredentials;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.transaction.Transactional;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class CredentialsDaoImpl implements CredentialsDao {
+
+    private static final Logger logger = LoggerFactory.getLogger(CredentialsDaoImpl.class);
+
+    private static final String CREDENTIALS_QUERY =
+            "select new org.example.model.UserCredentials(u.username, u.password, " +
+            "case type(u) when Trainee then 'TRAINEE' when Trainer then 'TRAINER' else 'USER' end, u.isActive) " +
+            "from User u where u.username = :username";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<UserCredentials> findByUserName(String username) {
+        Optional<UserCredentials> credentials = entityManager.createQuery(CREDENTIALS_QUERY, UserCredentials.class)
+                .setParameter("username", username)
+                .setMaxResults(1)
+                .getResultList()
+                .stream()
+                .findFirst();
+
+        logger.debug("Credentials lookup: username={}, found={}", username, credentials.isPresent());
+        return credentials;
+    }
+
+    @Override
+    @Transactional
+    public void updatePassword(String username, String encodedPassword) {
+        int updated = 0;
+        for (String entity : List.of("Trainee", "Trainer")) {
+            updated += entityManager.createQuery("update " + entity + " u set u.password = :password where u.username = :username")
+                    .setParameter("password", encodedPassword)
+                    .setParameter("username", username)
+                    .executeUpdate();
+        }
+
+        logger.info("Stored password re-encoded: username={}, updated={}", username, updated);
+    }
+}
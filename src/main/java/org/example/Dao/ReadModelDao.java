@@ -0,0 +1,25 @@
+package org.example.Dao;
+
+import org.example.responseBodies.TraineeWithTrainersDTO;
+import org.example.responseBodies.TrainerDTO;
+import org.example.responseBodies.TrainerWithTraineesDTO;
+import org.example.responseBodies.TrainingDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface ReadModelDao {
+
+    Optional<TraineeWithTrainersDTO> findTraineeProfile(String username);
+    Optional<TrainerWithTraineesDTO> findTrainerProfile(String username);
+
+    List<TrainingDTO> findTraineeTrainings(String traineeUsername, String trainerName, LocalDate from, LocalDate to);
+    List<TrainingDTO> findTrainerTrainings(String trainerUsername, String traineeName, LocalDate from, LocalDate to);
+
+    List<TrainerDTO> findUnassignedTrainers(String traineeUsername, String after, int limit);
+
+    long exportTrainings(LocalDate from, LocalDate to, String trainingType, Consumer<TrainingDTO> sink);
+
+}
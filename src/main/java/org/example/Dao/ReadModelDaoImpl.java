@@ -0,0 +1,196 @@
+package org.example.Dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceUnit;
+import jakarta.persistence.Tuple;
+import org.example.responseBodies.TraineeDTO;
+import org.example.responseBodies.TraineeWithTrainersDTO;
+import org.example.responseBodies.TrainerDTO;
+import org.example.responseBodies.TrainerWithTraineesDTO;
+import org.example.responseBodies.TrainingDTO;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.SelectionQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// builds response DTOs straight from selected columns, so reads never hydrate or snapshot managed entities;
+// the trainings and unassigned-trainer lists reuse the projections owned by TrainingDao and TrainerDao
+@Repository
+public class ReadModelDaoImpl implements ReadModelDao {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadModelDaoImpl.class);
+
+    private static final String TRAINEE_PROFILE_QUERY =
+            "select distinct te.firstName as firstName, te.lastName as lastName, te.dateOfBirth as dateOfBirth, " +
+            "te.address as address, te.isActive as active, tr.username as trainerUsername, " +
+            "tr.firstName as trainerFirstName, tr.lastName as trainerLastName, tr.specialization as specialization " +
+            "from Trainee te left join te.trainings t left join t.trainer tr " +
+            "where te.username = :username order by tr.username";
+
+    private static final String TRAINER_PROFILE_QUERY =
+            "select distinct tr.username as username, tr.firstName as firstName, tr.lastName as lastName, " +
+            "tr.specialization as specialization, te.username as traineeUsername, te.firstName as traineeFirstName, " +
+            "te.lastName as traineeLastName, te.dateOfBirth as dateOfBirth, te.address as address, te.isActive as active " +
+            "from Trainer tr left join tr.trainings t left join t.trainee te " +
+            "where tr.username = :username order by te.username";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${storage.export.fetch-size:500}")
+    private int exportFetchSize;
+
+    private final TrainingDao trainingDao;
+    private final TrainerDao trainerDao;
+
+    @Autowired
+    public ReadModelDaoImpl(TrainingDao trainingDao, TrainerDao trainerDao) {
+        this.trainingDao = trainingDao;
+        this.trainerDao = trainerDao;
+    }
+
+    @Override
+    public Optional<TraineeWithTrainersDTO> findTraineeProfile(String username) {
+        List<Tuple> rows = entityManager.createQuery(TRAINEE_PROFILE_QUERY, Tuple.class)
+                .setParameter("username", username)
+                .getResultList();
+
+        if (rows.isEmpty()) {
+            logger.debug("Trainee profile not found: username={}", username);
+            return Optional.empty();
+        }
+
+        Tuple first = rows.get(0);
+        TraineeDTO trainee = new TraineeDTO(first.get("firstName", String.class), first.get("lastName", String.class),
+                first.get("dateOfBirth", LocalDate.class), first.get("address", String.class),
+                first.get("active", Boolean.class));
+
+        Set<TrainerDTO> trainers = new LinkedHashSet<>();
+        for (Tuple row : rows) {
+            String trainerUsername = row.get("trainerUsername", String.class);
+            if (trainerUsername != null) {
+                trainers.add(new TrainerDTO(trainerUsername, row.get("trainerFirstName", String.class),
+                        row.get("trainerLastName", String.class), row.get("specialization", String.class)));
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Trainee profile read: username={}, trainers={}", username, trainers.size());
+        }
+        return Optional.of(new TraineeWithTrainersDTO(trainee, trainers));
+    }
+
+    @Override
+    public Optional<TrainerWithTraineesDTO> findTrainerProfile(String username) {
+        List<Tuple> rows = entityManager.createQuery(TRAINER_PROFILE_QUERY, Tuple.class)
+                .setParameter("username", username)
+                .getResultList();
+
+        if (rows.isEmpty()) {
+            logger.debug("Trainer profile not found: username={}", username);
+            return Optional.empty();
+        }
+
+        Tuple first = rows.get(0);
+        TrainerDTO trainer = new TrainerDTO(first.get("username", String.class), first.get("firstName", String.class),
+                first.get("lastName", String.class), first.get("specialization", String.class));
+
+        Set<TraineeDTO> trainees = new LinkedHashSet<>();
+        for (Tuple row : rows) {
+            if (row.get("traineeUsername", String.class) != null) {
+                trainees.add(new TraineeDTO(row.get("traineeFirstName", String.class),
+                        row.get("traineeLastName", String.class), row.get("dateOfBirth", LocalDate.class),
+                        row.get("address", String.class), row.get("active", Boolean.class)));
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Trainer profile read: username={}, trainees={}", username, trainees.size());
+        }
+        return Optional.of(new TrainerWithTraineesDTO(trainer, trainees));
+    }
+
+    @Override
+    public List<TrainingDTO> findTraineeTrainings(String traineeUsername, String trainerName, LocalDate from, LocalDate to) {
+        return trainingDao.findTraineeTrainings(traineeUsername, trainerName, from, to);
+    }
+
+    @Override
+    public List<TrainingDTO> findTrainerTrainings(String trainerUsername, String traineeName, LocalDate from, LocalDate to) {
+        return trainingDao.findTrainerTrainings(trainerUsername, traineeName, from, to);
+    }
+
+    @Override
+    public List<TrainerDTO> findUnassignedTrainers(String traineeUsername, String after, int limit) {
+        return trainerDao.findUnassignedTrainers(traineeUsername, after, limit);
+    }
+
+    @Override
+    public long exportTrainings(LocalDate from, LocalDate to, String trainingType, Consumer<TrainingDTO> sink) {
+        // ordered by the time-ordered primary key so the cursor walks the index instead of sorting the table
+        StringBuilder query = new StringBuilder(TrainingDaoImpl.TRAINING_SELECT).append("where 1 = 1");
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (from != null) {
+            query.append(" and t.trainingDate >= :from");
+            parameters.put("from", from);
+        }
+
+        if (to != null) {
+            query.append(" and t.trainingDate <= :to");
+            parameters.put("to", to);
+        }
+
+        if (trainingType != null) {
+            query.append(" and t.trainingType.trainingTypeName = :trainingType");
+            parameters.put("trainingType", trainingType);
+        }
+
+        query.append(" order by t.id");
+
+        long exported = 0;
+        try (StatelessSession session = entityManagerFactory.unwrap(SessionFactory.class).openStatelessSession()) {
+            // some drivers only honour the fetch size inside a transaction
+            Transaction transaction = session.beginTransaction();
+            try {
+                SelectionQuery<TrainingDTO> selection = session.createSelectionQuery(query.toString(), TrainingDTO.class)
+                        .setFetchSize(exportFetchSize)
+                        .setReadOnly(true);
+                parameters.forEach(selection::setParameter);
+
+                try (ScrollableResults<TrainingDTO> rows = selection.scroll(ScrollMode.FORWARD_ONLY)) {
+                    while (rows.next()) {
+                        sink.accept(rows.get());
+                        exported++;
+                    }
+                }
+            } finally {
+                transaction.rollback();
+            }
+        }
+
+        logger.info("Trainings exported: from={}, to={}, type={}, exported={}", from, to, trainingType, exported);
+        return exported;
+    }
+}
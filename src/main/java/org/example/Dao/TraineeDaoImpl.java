@@ -8,10 +8,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
-public class TraineeDaoImpl implements GenericDao<Trainee> {
+public class TraineeDaoImpl implements UserDao<Trainee> {
 
     private static final Logger logger = LoggerFactory.getLogger(TraineeDaoImpl.class);
 
@@ -24,7 +25,7 @@ public class TraineeDaoImpl implements GenericDao<Trainee> {
 
     @Override
     public Trainee create(Trainee trainee) {
-        logger.info("Trainee created successfully: {}", trainee);
+        logger.debug("Trainee created successfully: {}", trainee);
         return trainees.put(trainee);
     }
 
@@ -33,6 +34,28 @@ public class TraineeDaoImpl implements GenericDao<Trainee> {
         return trainees.findByField(field, value);
     }
 
+    @Override
+    public List<String> findUserNamesStartingWith(String prefix) {
+        return trainees.findValuesStartingWith("username", prefix);
+    }
+
+    @Override
+    public Optional<Long> findVersionByUserName(String username) {
+        return trainees.findVersionByField("username", username);
+    }
+
+    @Override
+    public void incrementVersion(Long userId) {
+        trainees.incrementVersion(userId);
+    }
+
+    @Override
+    public void incrementVersionsLinkedTo(Long trainerId) {
+        trainees.incrementVersions(
+                "select t.trainee.userId from Training t where t.trainer.userId = :trainerId",
+                Map.of("trainerId", trainerId));
+    }
+
     @Override
     public List<Trainee> runQuery(String query) {
         return trainees.runQuery(query);
@@ -42,7 +65,7 @@ public class TraineeDaoImpl implements GenericDao<Trainee> {
     public Optional<Trainee> select(Long id) {
         Optional<Trainee> trainee = trainees.findById(id);
         if (trainee.isPresent()) {
-            logger.info("Trainee selected: {}", trainee.get());
+            logger.debug("Trainee selected: {}", trainee.get());
         } else {
             logger.warn("Trainee with id={} not found", id);
         }
@@ -57,7 +80,7 @@ public class TraineeDaoImpl implements GenericDao<Trainee> {
         }
 
         trainees.update(trainee);
-        logger.info("Trainee updated successfully: {}", trainee);
+        logger.debug("Trainee updated successfully: {}", trainee);
     }
 
     @Override
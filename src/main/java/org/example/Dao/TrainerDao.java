@@ -0,0 +1,12 @@
+package org.example.Dao;
+
+import org.example.model.Trainer;
+import org.example.responseBodies.TrainerDTO;
+
+import java.util.List;
+
+public interface TrainerDao extends UserDao<Trainer> {
+
+    List<TrainerDTO> findUnassignedTrainers(String traineeUsername, String after, int limit);
+
+}
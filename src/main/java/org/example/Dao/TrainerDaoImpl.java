@@ -1,18 +1,21 @@
 package org.example.Dao;
 
 import org.example.model.Trainer;
+import org.example.responseBodies.TrainerDTO;
 import org.example.storage.StorageSystem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
 @Repository
-public class TrainerDaoImpl implements GenericDao<Trainer> {
+public class TrainerDaoImpl implements TrainerDao {
 
     private static final Logger logger = LoggerFactory.getLogger(TrainerDaoImpl.class);
 
@@ -25,7 +28,7 @@ public class TrainerDaoImpl implements GenericDao<Trainer> {
 
     @Override
     public Trainer create(Trainer trainer) {
-        logger.info("Trainer created successfully: {}", trainer);
+        logger.debug("Trainer created successfully: {}", trainer);
         return trainers.put(trainer);
     }
 
@@ -34,11 +37,33 @@ public class TrainerDaoImpl implements GenericDao<Trainer> {
         return trainers.findByField(field, value);
     }
 
+    @Override
+    public List<String> findUserNamesStartingWith(String prefix) {
+        return trainers.findValuesStartingWith("username", prefix);
+    }
+
+    @Override
+    public Optional<Long> findVersionByUserName(String username) {
+        return trainers.findVersionByField("username", username);
+    }
+
+    @Override
+    public void incrementVersion(Long userId) {
+        trainers.incrementVersion(userId);
+    }
+
+    @Override
+    public void incrementVersionsLinkedTo(Long traineeId) {
+        trainers.incrementVersions(
+                "select t.trainer.userId from Training t where t.trainee.userId = :traineeId",
+                Map.of("traineeId", traineeId));
+    }
+
     @Override
     public Optional<Trainer> select(Long id) {
         Optional<Trainer> trainer = trainers.findById(id);
         if (trainer.isPresent()) {
-            logger.info("Trainer selected: {}", trainer.get());
+            logger.debug("Trainer selected: {}", trainer.get());
         } else {
             logger.warn("Trainer with id={} not found", id);
         }
@@ -53,7 +78,7 @@ public class TrainerDaoImpl implements GenericDao<Trainer> {
         }
 
         trainers.update(trainer);
-        logger.info("Trainer updated successfully: {}", trainer);
+        logger.debug("Trainer updated successfully: {}", trainer);
     }
 
 
@@ -73,4 +98,26 @@ public class TrainerDaoImpl implements GenericDao<Trainer> {
         logger.info("Trainer deleted successfully: id={}", id);
     }
 
-}
\ No newline at end of file
+    @Override
+    public List<TrainerDTO> findUnassignedTrainers(String traineeUsername, String after, int limit) {
+        StringBuilder query = new StringBuilder("select new org.example.responseBodies.TrainerDTO(" +
+                "tr.username, tr.firstName, tr.lastName, tr.specialization) from Trainer tr where tr.isActive = true " +
+                "and not exists (select t.id from Training t where t.trainer = tr and t.trainee.username = :traineeUsername)");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("traineeUsername", traineeUsername);
+
+        if (after != null) {
+            query.append(" and tr.username > :after");
+            parameters.put("after", after);
+        }
+
+        query.append(" order by tr.username");
+
+        List<TrainerDTO> results = trainers.findByQuery(query.toString(), TrainerDTO.class, parameters, limit);
+        if (logger.isDebugEnabled()) {
+            logger.debug("findUnassignedTrainers: trainee={}, found {} trainers", traineeUsername, results.size());
+        }
+        return results;
+    }
+
+}
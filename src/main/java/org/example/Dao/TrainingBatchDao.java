@@ -0,0 +1,28 @@
+package org.example.Dao;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public interface TrainingBatchDao {
+
+    Map<String, Long> findTraineeIds(Collection<String> usernames);
+    Map<String, Long> findTrainerIds(Collection<String> usernames);
+
+    Set<NaturalKey> findExistingKeys(Collection<Long> traineeIds, LocalDate from, LocalDate to);
+
+    void createTrainingTypes(Collection<String> names);
+
+    void insert(List<PendingTraining> trainings);
+
+    record NaturalKey(Long traineeId, Long trainerId, LocalDate date) {}
+
+    record PendingTraining(Long traineeId, Long trainerId, String trainingName, LocalDate date, int duration) {
+
+        public NaturalKey key() {
+            return new NaturalKey(traineeId, trainerId, date);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.Dao;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.model.Trainee;
+import org.example.model.Trainer;
+import org.example.model.Training;
+import org.example.model.TrainingType;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// set-based lookups and batched inserts for bulk training creation; callers own the transaction
+@Repository
+public class TrainingBatchDaoImpl implements TrainingBatchDao {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrainingBatchDaoImpl.class);
+
+    // keeps every IN list well below driver and database parameter limits
+    private static final int IN_LIST_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${storage.jdbc.batch-size:50}")
+    private int jdbcBatchSize;
+
+    @Override
+    public Map<String, Long> findTraineeIds(Collection<String> usernames) {
+        return findIds("select u.username, u.userId from Trainee u where u.username in :usernames", usernames);
+    }
+
+    @Override
+    public Map<String, Long> findTrainerIds(Collection<String> usernames) {
+        return findIds("select u.username, u.userId from Trainer u where u.username in :usernames", usernames);
+    }
+
+    @Override
+    public Set<NaturalKey> findExistingKeys(Collection<Long> traineeIds, LocalDate from, LocalDate to) {
+        Set<NaturalKey> keys = new HashSet<>();
+        for (List<Long> ids : partition(traineeIds)) {
+            entityManager.createQuery(
+                            "select t.trainee.userId, t.trainer.userId, t.trainingDate from Training t " +
+                            "where t.trainee.userId in :traineeIds and t.trainingDate between :from and :to", Object[].class)
+                    .setParameter("traineeIds", ids)
+                    .setParameter("from", from)
+                    .setParameter("to", to)
+                    .getResultList()
+                    .forEach(row -> keys.add(new NaturalKey((Long) row[0], (Long) row[1], (LocalDate) row[2])));
+        }
+        return keys;
+    }
+
+    @Override
+    public void createTrainingTypes(Collection<String> names) {
+        Set<String> existing = new HashSet<>();
+        for (List<String> chunk : partition(names)) {
+            existing.addAll(entityManager.createQuery(
+                            "select t.trainingTypeName from TrainingType t where t.trainingTypeName in :names", String.class)
+                    .setParameter("names", chunk)
+                    .getResultList());
+        }
+
+        for (String name : names) {
+            if (!existing.contains(name)) {
+                entityManager.persist(new TrainingType(name));
+                logger.info("TrainingType created: {}", name);
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Override
+    public void insert(List<PendingTraining> trainings) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+
+        Set<Long> traineeIds = new HashSet<>();
+        Set<Long> trainerIds = new HashSet<>();
+
+        for (PendingTraining training : trainings) {
+            entityManager.persist(new Training(
+                    entityManager.getReference(Trainee.class, training.traineeId()),
+                    entityManager.getReference(Trainer.class, training.trainerId()),
+                    training.trainingName(),
+                    entityManager.getReference(TrainingType.class, training.trainingName()),
+                    training.date(),
+                    training.duration()
+            ));
+            traineeIds.add(training.traineeId());
+            trainerIds.add(training.trainerId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // one statement per side instead of a forced version increment per affected user
+        int trainees = incrementVersions("update Trainee u set u.version = u.version + 1 where u.userId in :ids", traineeIds);
+        int trainers = incrementVersions("update Trainer u set u.version = u.version + 1 where u.userId in :ids", trainerIds);
+
+        logger.info("Trainings inserted: count={}, traineeVersions={}, trainerVersions={}",
+                trainings.size(), trainees, trainers);
+    }
+
+    private Map<String, Long> findIds(String query, Collection<String> usernames) {
+        Map<String, Long> ids = new HashMap<>();
+        for (List<String> chunk : partition(usernames)) {
+            entityManager.createQuery(query, Object[].class)
+                    .setParameter("usernames", chunk)
+                    .getResultList()
+                    .forEach(row -> ids.put((String) row[0], (Long) row[1]));
+        }
+        return ids;
+    }
+
+    private int incrementVersions(String query, Collection<Long> userIds) {
+        int updated = 0;
+        for (List<Long> ids : partition(userIds)) {
+            updated += entityManager.createQuery(query).setParameter("ids", ids).executeUpdate();
+        }
+        return updated;
+    }
+
+    private static <E> List<List<E>> partition(Collection<E> values) {
+        List<E> list = new ArrayList<>(values);
+        List<List<E>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += IN_LIST_SIZE) {
+            chunks.add(list.subList(from, Math.min(from + IN_LIST_SIZE, list.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.Dao;
+
+import org.example.model.Training;
+import org.example.responseBodies.TrainingDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface TrainingDao extends GenericDao<Training> {
+
+    List<TrainingDTO> findTraineeTrainings(String traineeUsername, String trainerName, LocalDate from, LocalDate to);
+    List<TrainingDTO> findTrainerTrainings(String trainerUsername, String traineeName, LocalDate from, LocalDate to);
+    Optional<Training> findByNaturalKey(Long traineeId, Long trainerId, LocalDate date);
+
+}
@@ -1,20 +1,29 @@
 package org.example.Dao;
 
 import org.example.model.Training;
+import org.example.responseBodies.TrainingDTO;
 import org.example.storage.StorageSystem;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Repository
-public class TrainingDaoImpl implements GenericDao<Training> {
+public class TrainingDaoImpl implements TrainingDao {
 
     private static final Logger logger = LoggerFactory.getLogger(TrainingDaoImpl.class);
 
+    static final String TRAINING_SELECT =
+            "select new org.example.responseBodies.TrainingDTO(t.trainingName, t.trainingDate, " +
+            "t.trainingType.trainingTypeName, t.trainingDuration, tr.username, te.username) " +
+            "from Training t join t.trainee te join t.trainer tr ";
+
     private final StorageSystem<Training> trainings;
 
     @Autowired
@@ -24,14 +33,16 @@ public class TrainingDaoImpl implements GenericDao<Training> {
 
     @Override
     public Training create(Training training) {
-        logger.info("Training created successfully: {}", training);
+        logger.debug("Training created successfully: {}", training);
         return trainings.put(training);
     }
 
     @Override
     public List<Training> findByField(String field, String value) {
         List<Training> results = trainings.findByField(field, value);
-        logger.info("findByField: field={}, value={}, found {} trainings", field, value, results.size());
+        if (logger.isDebugEnabled()) {
+            logger.debug("findByField: field={}, value={}, found {} trainings", field, value, results.size());
+        }
         return results;
     }
 
@@ -39,7 +50,7 @@ public class TrainingDaoImpl implements GenericDao<Training> {
     public Optional<Training> select(Long id) {
         Optional<Training> training = trainings.findById(id);
         if (training.isPresent()) {
-            logger.info("Training selected: {}", training.get());
+            logger.debug("Training selected: {}", training.get());
         } else {
             logger.warn("Training with id={} not found", id);
         }
@@ -54,7 +65,7 @@ public class TrainingDaoImpl implements GenericDao<Training> {
         }
 
         trainings.update(training);
-        logger.info("Training updated successfully: {}", training);
+        logger.debug("Training updated successfully: {}", training);
     }
 
 
@@ -74,4 +85,70 @@ public class TrainingDaoImpl implements GenericDao<Training> {
         logger.info("Training deleted successfully: id={}", id);
     }
 
+    @Override
+    public List<TrainingDTO> findTraineeTrainings(String traineeUsername, String trainerName, LocalDate from, LocalDate to) {
+        StringBuilder query = new StringBuilder(TRAINING_SELECT).append("where te.username = :username");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("username", traineeUsername);
+
+        if (trainerName != null) {
+            query.append(" and tr.username = :trainerName");
+            parameters.put("trainerName", trainerName);
+        }
+
+        appendPeriod(query, parameters, from, to);
+
+        List<TrainingDTO> results = trainings.findByQuery(query.toString(), TrainingDTO.class, parameters);
+        if (logger.isDebugEnabled()) {
+            logger.debug("findTraineeTrainings: trainee={}, found {} trainings", traineeUsername, results.size());
+        }
+        return results;
+    }
+
+    @Override
+    public List<TrainingDTO> findTrainerTrainings(String trainerUsername, String traineeName, LocalDate from, LocalDate to) {
+        StringBuilder query = new StringBuilder(TRAINING_SELECT).append("where tr.username = :username");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("username", trainerUsername);
+
+        if (traineeName != null) {
+            query.append(" and te.username = :traineeName");
+            parameters.put("traineeName", traineeName);
+        }
+
+        appendPeriod(query, parameters, from, to);
+
+        List<TrainingDTO> results = trainings.findByQuery(query.toString(), TrainingDTO.class, parameters);
+        if (logger.isDebugEnabled()) {
+            logger.debug("findTrainerTrainings: trainer={}, found {} trainings", trainerUsername, results.size());
+        }
+        return results;
+    }
+
+    @Override
+    public Optional<Training> findByNaturalKey(Long traineeId, Long trainerId, LocalDate date) {
+        Optional<Training> training = trainings.findByQuery("select t from Training t " +
+                        "where t.trainee.userId = :traineeId and t.trainer.userId = :trainerId and t.trainingDate = :date",
+                Map.of("traineeId", traineeId, "trainerId", trainerId, "date", date), 1).stream().findFirst();
+        if (logger.isDebugEnabled()) {
+            logger.debug("findByNaturalKey: traineeId={}, trainerId={}, date={}, found={}",
+                    traineeId, trainerId, date, training.isPresent());
+        }
+        return training;
+    }
+
+    private void appendPeriod(StringBuilder query, Map<String, Object> parameters, LocalDate from, LocalDate to) {
+        if (from != null) {
+            query.append(" and t.trainingDate >= :from");
+            parameters.put("from", from);
+        }
+
+        if (to != null) {
+            query.append(" and t.trainingDate <= :to");
+            parameters.put("to", to);
+        }
+
+        query.append(" order by t.trainingDate");
+    }
+
 }
@@ -0,0 +1,18 @@
+package org.example.Dao;
+
+import org.example.model.User;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface UserDao<T extends User> extends GenericDao<T> {
+
+    List<String> findUserNamesStartingWith(String prefix);
+
+    Optional<Long> findVersionByUserName(String username);
+
+    void incrementVersion(Long userId);
+
+    void incrementVersionsLinkedTo(Long otherUserId);
+
+}
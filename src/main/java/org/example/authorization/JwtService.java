@@ -0,0 +1,137 @@
+package org.example.authorization;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.example.cache.ExpiringCache;
+import org.example.model.UserCredentials;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+
+@Service
+public class JwtService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
+
+    public static final String ACCESS = "access";
+    public static final String REFRESH = "refresh";
+
+    private static final String TYPE_CLAIM = "typ";
+    private static final String ROLE_CLAIM = "role";
+    private static final String STAMP_CLAIM = "stp";
+
+    private final SecretKey key;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+    private final ExpiringCache<String, Boolean> revokedStamps;
+
+    @Autowired
+    public JwtService(@Value("${security.jwt.secret:}") String secret,
+                      @Value("${security.jwt.access-ttl:15m}") Duration accessTtl,
+                      @Value("${security.jwt.refresh-ttl:7d}") Duration refreshTtl,
+                      @Qualifier("revokedTokenStamps") ExpiringCache<String, Boolean> revokedStamps) {
+        if (secret.isBlank()) {
+            logger.warn("security.jwt.secret is not set, using a random key; tokens will not survive a restart");
+            this.key = Jwts.SIG.HS256.key().build();
+        } else {
+            this.key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        }
+
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+        this.revokedStamps = revokedStamps;
+    }
+
+    public Duration getAccessTtl() {
+        return accessTtl;
+    }
+
+    public String issueAccessToken(UserCredentials credentials) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(credentials.username())
+                .claim(TYPE_CLAIM, ACCESS)
+                .claim(ROLE_CLAIM, credentials.role())
+                .claim(STAMP_CLAIM, stamp(credentials))
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(accessTtl)))
+                .signWith(key)
+                .compact();
+    }
+
+    public String issueRefreshToken(UserCredentials credentials) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .subject(credentials.username())
+                .claim(TYPE_CLAIM, REFRESH)
+                .claim(STAMP_CLAIM, stamp(credentials))
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(refreshTtl)))
+                .signWith(key)
+                .compact();
+    }
+
+    public Claims parse(String token, String expectedType) {
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+
+        if (!expectedType.equals(claims.get(TYPE_CLAIM, String.class)))
+            throw new JwtException("Expected " + expectedType + " token");
+
+        // checked in memory only, so bearer requests run no auth queries; a password change on
+        // another instance or before a restart is bounded by the access ttl, refresh compares the
+        // stamp with the stored credentials through matchesStamp
+        String stamp = claims.get(STAMP_CLAIM, String.class);
+        if (stamp == null || revokedStamps.get(stamp).isPresent())
+            throw new JwtException("Token has been revoked");
+
+        return claims;
+    }
+
+    public boolean matchesStamp(Claims claims, UserCredentials credentials) {
+        String stamp = claims.get(STAMP_CLAIM, String.class);
+        return stamp != null && MessageDigest.isEqual(
+                stamp.getBytes(StandardCharsets.US_ASCII),
+                stamp(credentials).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // called with the stored password hash that is about to be replaced or deleted
+    public void revoke(String storedPassword) {
+        revokedStamps.put(fingerprint(storedPassword), Boolean.TRUE);
+    }
+
+    public String getRole(Claims claims) {
+        return claims.get(ROLE_CLAIM, String.class);
+    }
+
+    private String stamp(UserCredentials credentials) {
+        return fingerprint(credentials.password());
+    }
+
+    private String fingerprint(String password) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            byte[] digest = mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
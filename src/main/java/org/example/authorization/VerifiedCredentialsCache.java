@@ -0,0 +1,87 @@
+package org.example.authorization;
+
+import org.example.cache.ExpiringCache;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Optional;
+
+public class VerifiedCredentialsCache implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ExpiringCache<String, byte[]>[] stripes;
+    private final SecretKeySpec digestKey;
+
+    @SuppressWarnings("unchecked")
+    public VerifiedCredentialsCache(PasswordEncoder delegate, int stripeCount, int maxSize, Duration ttl) {
+        if (stripeCount <= 0 || maxSize < stripeCount)
+            throw new IllegalArgumentException("maxSize must be at least stripeCount and stripeCount positive");
+
+        this.delegate = delegate;
+        this.stripes = new ExpiringCache[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ExpiringCache<>(maxSize / stripeCount, ttl);
+        }
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null)
+            return delegate.matches(rawPassword, encodedPassword);
+
+        // keyed by the stored hash, so a changed password can never hit an old entry
+        ExpiringCache<String, byte[]> stripe = stripeFor(encodedPassword);
+        byte[] digest = digest(rawPassword);
+
+        Optional<byte[]> verified = stripe.get(encodedPassword);
+        if (verified.isPresent() && MessageDigest.isEqual(verified.get(), digest))
+            return true;
+
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches)
+            stripe.put(encodedPassword, digest);
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public long getHits() {
+        long hits = 0;
+        for (ExpiringCache<String, byte[]> stripe : stripes) {
+            hits += stripe.getHits();
+        }
+        return hits;
+    }
+
+    private ExpiringCache<String, byte[]> stripeFor(String encodedPassword) {
+        return stripes[Math.floorMod(encodedPassword.hashCode(), stripes.length)];
+    }
+
+    private byte[] digest(CharSequence rawPassword) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(digestKey);
+            return mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+}
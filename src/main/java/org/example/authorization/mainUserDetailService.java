@@ -1,46 +1,91 @@
 package org.example.authorization;
 
-import org.example.facade.GymFacade;
-import org.example.model.Trainee;
-import org.example.model.Trainer;
+import org.example.Dao.CredentialsDao;
+import org.example.cache.ExpiringCache;
+import org.example.model.UserCredentials;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Optional;
+import java.util.regex.Pattern;
 
 @Service
-public class mainUserDetailService implements UserDetailsService {
+public class mainUserDetailService implements UserDetailsService, UserDetailsPasswordService {
+
+    public static final String OPERATOR_ROLE = "OPERATOR";
+
+    private static final Pattern ENCODED = Pattern.compile("^\\{(bcrypt|noop)}.*", Pattern.DOTALL);
 
     @Autowired
-    private GymFacade gymFacade;
+    private CredentialsDao credentialsDao;
+
+    @Autowired
+    @Qualifier("credentialsCache")
+    private ExpiringCache<String, UserCredentials> credentialsCache;
+
+    // operator account for the actuator endpoints, kept out of the user tables; disabled without a password
+    @Value("${security.operator.username:operator}")
+    private String operatorUsername;
+
+    @Value("${security.operator.password:}")
+    private String operatorPassword;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
-        Optional<Trainee> trainee = gymFacade.selectByTraineeName(username);
-
-        if (trainee.isPresent()) {
+        if (!operatorPassword.isBlank() && operatorUsername.equals(username)) {
             return org.springframework.security.core.userdetails.User.builder()
-                    .username(trainee.get().getUsername())
-                    .password("{noop}" + trainee.get().getPassword())
-                    .roles("TRAINEE")
+                    .username(operatorUsername)
+                    .password(encoded(operatorPassword))
+                    .roles(OPERATOR_ROLE)
                     .build();
         }
 
-        Optional<Trainer> trainer = gymFacade.selectTrainerByUserName(username);
+        UserCredentials credentials = findCredentials(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        if (trainer.isPresent()){
-            return org.springframework.security.core.userdetails.User.builder()
-                    .username(trainer.get().getUsername())
-                    .password("{noop}" + trainer.get().getPassword())
-                    .roles("TRAINER")
-                    .build();
-        }
+        // a fresh UserDetails per call, Spring Security erases the password on the returned instance
+        return org.springframework.security.core.userdetails.User.builder()
+                .username(credentials.username())
+                .password(encoded(credentials.password()))
+                .roles(credentials.role())
+                .build();
 
-        throw new UsernameNotFoundException("User not found");
+    }
+
+    public Optional<UserCredentials> findCredentials(String username) {
+        Optional<UserCredentials> cached = credentialsCache.get(username);
+        if (cached.isPresent())
+            return cached;
+
+        Optional<UserCredentials> credentials = credentialsDao.findByUserName(username);
+
+        // only committed state may be cached, a surrounding transaction could still roll back
+        if (credentials.isPresent() && !TransactionSynchronizationManager.isActualTransactionActive())
+            credentialsCache.put(username, credentials.get());
+
+        return credentials;
+    }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        credentialsDao.updatePassword(user.getUsername(), newPassword);
+        credentialsCache.invalidateUntilCompletion(user.getUsername());
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 
+    // rows written before hashing was introduced hold the plain password without an encoder prefix
+    private static String encoded(String storedPassword) {
+        return ENCODED.matcher(storedPassword).matches() ? storedPassword : "{noop}" + storedPassword;
     }
 }
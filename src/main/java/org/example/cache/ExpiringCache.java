@@ -0,0 +1,211 @@
+package org.example.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+public class ExpiringCache<K, V> {
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final List<Segment> segments;
+
+    // value -> keys currently mapped to it, so invalidateValue does not scan every segment
+    private final ConcurrentMap<V, Set<K>> keysByValue = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ExpiringCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Math.min(MAX_SEGMENTS, Math.max(1, maxSize)), System::nanoTime);
+    }
+
+    ExpiringCache(int maxSize, Duration ttl, int segmentCount, LongSupplier clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        if (segmentCount <= 0 || segmentCount > maxSize) {
+            throw new IllegalArgumentException("Segment count must be between 1 and the cache size");
+        }
+
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+
+        // the first (maxSize % segmentCount) segments take one extra entry, so the capacities sum to maxSize
+        List<Segment> created = new ArrayList<>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            created.add(new Segment(maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0)));
+        }
+        this.segments = List.copyOf(created);
+    }
+
+    public Optional<V> get(K key) {
+        Segment segment = segmentFor(key);
+
+        segment.lock.lock();
+        try {
+            Entry<V> entry = segment.entries.get(key);
+
+            if (entry == null) {
+                misses.increment();
+                return Optional.empty();
+            }
+
+            if (clock.getAsLong() - entry.createdAt() > ttlNanos) {
+                segment.entries.remove(key);
+                unindex(key, entry.value());
+                evictions.increment();
+                misses.increment();
+                return Optional.empty();
+            }
+
+            hits.increment();
+            return Optional.of(entry.value());
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void put(K key, V value) {
+        Segment segment = segmentFor(key);
+
+        segment.lock.lock();
+        try {
+            Entry<V> previous = segment.entries.put(key, new Entry<>(value, clock.getAsLong()));
+            if (previous != null && !Objects.equals(previous.value(), value))
+                unindex(key, previous.value());
+            index(key, value);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment segment = segmentFor(key);
+
+        segment.lock.lock();
+        try {
+            Entry<V> removed = segment.entries.remove(key);
+            if (removed != null)
+                unindex(key, removed.value());
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void invalidateUntilCompletion(K key) {
+        invalidate(key);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(key);
+                }
+            });
+        }
+    }
+
+    public void invalidateValue(V value) {
+        if (value == null)
+            return;
+
+        Set<K> keys = keysByValue.remove(value);
+        if (keys == null)
+            return;
+
+        for (K key : keys) {
+            Segment segment = segmentFor(key);
+
+            segment.lock.lock();
+            try {
+                Entry<V> entry = segment.entries.get(key);
+                if (entry != null && Objects.equals(entry.value(), value))
+                    segment.entries.remove(key);
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.entries.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public long getHits() { return hits.sum(); }
+    public long getMisses() { return misses.sum(); }
+    public long getEvictions() { return evictions.sum(); }
+
+    private Segment segmentFor(K key) {
+        int hash = key.hashCode();
+        return segments.get(Math.floorMod(hash ^ (hash >>> 16), segments.size()));
+    }
+
+    private void index(K key, V value) {
+        if (value == null)
+            return;
+
+        keysByValue.compute(value, (v, keys) -> {
+            Set<K> indexed = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+            indexed.add(key);
+            return indexed;
+        });
+    }
+
+    private void unindex(K key, V value) {
+        if (value == null)
+            return;
+
+        keysByValue.computeIfPresent(value, (v, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<K, Entry<V>> entries;
+
+        private Segment(int maxSize) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                    if (size() > maxSize) {
+                        unindex(eldest.getKey(), eldest.getValue().value());
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    private record Entry<V>(V value, long createdAt) {}
+}
@@ -0,0 +1,104 @@
+package org.example.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.example.Dao.TrainingTypeDao;
+import org.example.model.TrainingType;
+import org.example.responseBodies.TrainingTypesResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+@Component
+public class TrainingTypeRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrainingTypeRegistry.class);
+
+    private final TrainingTypeDao trainingTypeDao;
+    private final ObjectMapper objectMapper;
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public TrainingTypeRegistry(TrainingTypeDao trainingTypeDao, ObjectMapper objectMapper) {
+        this.trainingTypeDao = trainingTypeDao;
+        this.objectMapper = objectMapper;
+    }
+
+    @PostConstruct
+    public void load() {
+        List<TrainingType> types = trainingTypeDao.runQuery("SELECT t FROM TrainingType t");
+        TreeMap<String, TrainingType> byName = new TreeMap<>();
+        types.forEach(type -> byName.put(type.getTrainingTypeName(), type));
+
+        snapshot = buildSnapshot(byName);
+        logger.info("Training type registry loaded: {} types", byName.size());
+    }
+
+    public Optional<TrainingType> find(String name) {
+        return Optional.ofNullable(snapshot.byName().get(name));
+    }
+
+    public List<TrainingType> getAll() {
+        return snapshot.types();
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public void register(TrainingType trainingType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(trainingType);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(trainingType);
+            }
+        });
+    }
+
+    private synchronized void add(TrainingType trainingType) {
+        Snapshot current = snapshot;
+        if (current.byName().containsKey(trainingType.getTrainingTypeName()))
+            return;
+
+        TreeMap<String, TrainingType> byName = new TreeMap<>(current.byName());
+        byName.put(trainingType.getTrainingTypeName(), new TrainingType(trainingType.getTrainingTypeName()));
+
+        snapshot = buildSnapshot(byName);
+        logger.info("Training type registered: {}, total={}", trainingType.getTrainingTypeName(), byName.size());
+    }
+
+    private Snapshot buildSnapshot(TreeMap<String, TrainingType> byName) {
+        Collection<TrainingType> types = byName.values();
+        byte[] body;
+
+        try {
+            body = objectMapper.writeValueAsBytes(new TrainingTypesResponse(
+                    types.stream().map(TrainingType::getTrainingTypeName).toList()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Training types response could not be serialized", e);
+        }
+
+        return new Snapshot(Collections.unmodifiableMap(byName), List.copyOf(types), body,
+                "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    public record Snapshot(Map<String, TrainingType> byName, List<TrainingType> types, byte[] body, String eTag) {}
+}
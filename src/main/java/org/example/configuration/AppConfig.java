@@ -1,53 +1,130 @@
 package org.example.configuration;
 
+import org.example.cache.ExpiringCache;
+import org.example.model.PooledSequenceGenerator;
+import org.example.model.TimeOrderedIdGenerator;
 import org.example.model.Trainee;
 import org.example.model.Trainer;
 import org.example.model.Training;
 import org.example.model.TrainingType;
+import org.example.model.UserCredentials;
 import org.example.storage.StorageSystem;
 import org.example.storage.StorageSystemImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import com.zaxxer.hikari.HikariDataSource;
 import jakarta.persistence.*;
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 
 @Configuration
 @EnableTransactionManagement
+@EnableAsync
+@EnableScheduling
 @ComponentScan(basePackages = "org.example")
 @PropertySource("classpath:application.properties")
 public class AppConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(AppConfig.class);
+
     @Bean
-    public DataSource dataSource() {
-        DriverManagerDataSource ds = new DriverManagerDataSource();
-        ds.setDriverClassName("org.postgresql.Driver");
-        ds.setUrl("jdbc:postgresql://localhost:5432/gym");
-        ds.setUsername("postgres");
-        ds.setPassword("admin");
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(@Value("${spring.datasource.url}") String url,
+                                       @Value("${spring.datasource.username}") String username,
+                                       @Value("${spring.datasource.password}") String password,
+                                       @Value("${spring.datasource.driver-class-name}") String driverClassName) {
+        HikariDataSource ds = new HikariDataSource();
+        ds.setDriverClassName(driverClassName);
+        ds.setJdbcUrl(url);
+        ds.setUsername(username);
+        ds.setPassword(password);
         return ds;
     }
 
     @Bean
-    public LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+    public SmartInitializingSingleton dataSourceWarmUp(HikariDataSource dataSource,
+                                                       @Value("${spring.datasource.warm-up:true}") boolean warmUp) {
+        return () -> {
+            if (!warmUp)
+                return;
+
+            int connections = Math.min(dataSource.getMinimumIdle(), dataSource.getMaximumPoolSize());
+            List<Connection> opened = new ArrayList<>(connections);
+            long started = System.nanoTime();
+
+            try {
+                for (int i = 0; i < connections; i++) {
+                    Connection connection = dataSource.getConnection();
+                    opened.add(connection);
+                    if (!connection.isValid(1)) {
+                        logger.warn("Connection {} of pool {} failed validation during warm-up", i, dataSource.getPoolName());
+                    }
+                }
+            } catch (SQLException e) {
+                logger.warn("Connection pool warm-up stopped after {} connections", opened.size(), e);
+            } finally {
+                for (Connection connection : opened) {
+                    try {
+                        connection.close();
+                    } catch (SQLException e) {
+                        logger.warn("Could not return warm-up connection to pool", e);
+                    }
+                }
+            }
+
+            logger.info("Connection pool {} warmed up with {} connections in {} ms",
+                    dataSource.getPoolName(), opened.size(), (System.nanoTime() - started) / 1_000_000);
+        };
+    }
+
+    @Bean
+    public LocalContainerEntityManagerFactoryBean entityManagerFactory(
+            DataSource dataSource,
+            @Value("${spring.jpa.properties.hibernate.dialect}") String dialect,
+            @Value("${spring.jpa.hibernate.ddl-auto:update}") String ddlAuto,
+            @Value("${spring.jpa.show-sql:false}") String showSql,
+            @Value("${spring.jpa.properties.hibernate.generate_statistics:false}") String generateStatistics,
+            @Value("${storage.jdbc.batch-size:50}") String jdbcBatchSize,
+            @Value("${storage.id.allocation-size:50}") String idAllocationSize,
+            @Value("${storage.id.optimizer:pooled}") String idOptimizer,
+            @Value("${storage.id.node-id:0}") String idNodeId) {
         LocalContainerEntityManagerFactoryBean emf = new LocalContainerEntityManagerFactoryBean();
         emf.setDataSource(dataSource);
         emf.setPackagesToScan("org.example.model");
         emf.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
 
         Properties props = new Properties();
-        props.setProperty("hibernate.dialect", "org.hibernate.dialect.PostgreSQLDialect");
-        props.setProperty("hibernate.hbm2ddl.auto", "update");
-        props.setProperty("hibernate.show_sql", "true");
+        props.setProperty("hibernate.dialect", dialect);
+        props.setProperty("hibernate.hbm2ddl.auto", ddlAuto);
+        props.setProperty("hibernate.show_sql", showSql);
+        props.setProperty("hibernate.generate_statistics", generateStatistics);
+        props.setProperty("hibernate.jdbc.batch_size", jdbcBatchSize);
+        props.setProperty("hibernate.jdbc.batch_versioned_data", "true");
+        props.setProperty("hibernate.order_inserts", "true");
+        props.setProperty("hibernate.order_updates", "true");
+        props.setProperty("hibernate.id.optimizer.pooled.preferred", idOptimizer);
+        props.setProperty(PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, idAllocationSize);
+        props.setProperty(TimeOrderedIdGenerator.NODE_ID_SETTING, idNodeId);
 
         emf.setJpaProperties(props);
         return emf;
@@ -78,4 +155,29 @@ public class AppConfig {
         return new StorageSystemImpl<>(TrainingType.class);
     }
 
+    @Bean
+    public ExpiringCache<String, Long> traineeIdCache(@Value("${cache.user-id.max-size:10000}") int maxSize,
+                                                      @Value("${cache.user-id.ttl:5m}") Duration ttl) {
+        return new ExpiringCache<>(maxSize, ttl);
+    }
+
+    @Bean
+    public ExpiringCache<String, Long> trainerIdCache(@Value("${cache.user-id.max-size:10000}") int maxSize,
+                                                      @Value("${cache.user-id.ttl:5m}") Duration ttl) {
+        return new ExpiringCache<>(maxSize, ttl);
+    }
+
+    @Bean
+    public ExpiringCache<String, UserCredentials> credentialsCache(@Value("${cache.credentials.max-size:10000}") int maxSize,
+                                                                   @Value("${cache.credentials.ttl:30s}") Duration ttl) {
+        return new ExpiringCache<>(maxSize, ttl);
+    }
+
+    // stamps of access tokens revoked by this instance; an entry only has to outlive the tokens it rejects
+    @Bean
+    public ExpiringCache<String, Boolean> revokedTokenStamps(@Value("${cache.revoked-tokens.max-size:100000}") int maxSize,
+                                                             @Value("${security.jwt.access-ttl:15m}") Duration accessTtl) {
+        return new ExpiringCache<>(maxSize, accessTtl);
+    }
+
 }
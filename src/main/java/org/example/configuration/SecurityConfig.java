@@ -1,7 +1,13 @@
 package org.example.configuration;
 
+import org.example.authorization.JwtAuthenticationFilter;
+import org.example.authorization.JwtService;
+import org.example.authorization.VerifiedCredentialsCache;
 import org.example.authorization.mainUserDetailService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,7 +16,13 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.time.Duration;
 
 @Configuration
 public class SecurityConfig {
@@ -18,6 +30,9 @@ public class SecurityConfig {
     @Autowired
     private mainUserDetailService userDetailsService;
 
+    @Autowired
+    private JwtService jwtService;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 
@@ -29,14 +44,25 @@ public class SecurityConfig {
                                 "/auth/**", "/trainings/types"
                         )
                         .permitAll()
+                        .requestMatchers(EndpointRequest.toAnyEndpoint().excluding(HealthEndpoint.class))
+                        .hasRole(mainUserDetailService.OPERATOR_ROLE)
                         .anyRequest().authenticated()
                 )
+                .addFilterBefore(new JwtAuthenticationFilter(jwtService), BasicAuthenticationFilter.class)
                 .httpBasic(Customizer.withDefaults())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .csrf(AbstractHttpConfigurer::disable);
 
         return http.build();
     }
 
+    @Bean
+    public static PasswordEncoder passwordEncoder(@Value("${security.password.cache.stripes:16}") int stripes,
+                                                  @Value("${security.password.cache.max-size:10000}") int maxSize,
+                                                  @Value("${security.password.cache.ttl:10m}") Duration ttl) {
+        return new VerifiedCredentialsCache(PasswordEncoderFactories.createDelegatingPasswordEncoder(), stripes, maxSize, ttl);
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
         return config.getAuthenticationManager();
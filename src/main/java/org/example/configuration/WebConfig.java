@@ -0,0 +1,20 @@
+package org.example.configuration;
+
+import org.example.metrics.EndpointLatencyInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private EndpointLatencyInterceptor endpointLatencyInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(endpointLatencyInterceptor)
+                .excludePathPatterns("/swagger-ui/**", "/v3/api-docs/**");
+    }
+}
@@ -1,26 +1,26 @@
 package org.example.controllers;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.authorization.JwtService;
 import org.example.exceptions.ForbiddenOperationException;
 import org.example.exceptions.NotFoundException;
 import org.example.facade.GymFacade;
-import org.example.model.Trainee;
-import org.example.model.Trainer;
+import org.example.model.UserCredentials;
 import org.example.requestBodies.LoginRequest;
+import org.example.requestBodies.RefreshTokenRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -39,6 +39,9 @@ public class LoginController {
     @Autowired
     private GymFacade gymFacade;
 
+    @Autowired
+    private JwtService jwtService;
+
     @PostMapping("/login")
     @Operation(
             summary = "Login with username and password",
@@ -57,18 +60,54 @@ public class LoginController {
     )
     public Map<String, String> login(@RequestBody LoginRequest request) throws ForbiddenOperationException {
         try {
-            Authentication authentication = authenticationManager.authenticate(
+            authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
             );
-
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            logger.info("User {} logged in successfully, transactionID={}", request.getUsername(), MDC.get("transactionID"));
-            return Map.of("message", "Login successful");
-
         } catch (BadCredentialsException e) {
-            logger.warn("Invalid login attempt for user {}, transactionID={}", request.getUsername(), MDC.get("transactionID"));
+            logger.warn("Invalid login attempt for user {}", request.getUsername());
             throw new ForbiddenOperationException("Invalid username or password");
         }
+
+        UserCredentials credentials = gymFacade.selectCredentials(request.getUsername())
+                .orElseThrow(() -> new ForbiddenOperationException("Invalid username or password"));
+
+        logger.info("User {} logged in successfully", request.getUsername());
+        return tokenResponse("Login successful", credentials);
+    }
+
+    @PostMapping("/refresh")
+    @Operation(
+            summary = "Exchange a refresh token for a new access and refresh token",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Tokens refreshed",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Map.class))
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Refresh token is invalid, expired or revoked",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = Map.class))
+                    )
+            }
+    )
+    public Map<String, String> refresh(@RequestBody RefreshTokenRequest request) throws ForbiddenOperationException {
+        Claims claims;
+        try {
+            claims = jwtService.parse(request.getRefreshToken(), JwtService.REFRESH);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.warn("Invalid refresh token: {}", e.getMessage());
+            throw new ForbiddenOperationException("Invalid refresh token");
+        }
+
+        Optional<UserCredentials> credentials = gymFacade.selectCredentials(claims.getSubject());
+        if (credentials.isEmpty() || !jwtService.matchesStamp(claims, credentials.get())) {
+            logger.warn("Refresh token for user {} no longer matches", claims.getSubject());
+            throw new ForbiddenOperationException("Invalid refresh token");
+        }
+
+        logger.info("Tokens refreshed for user {}", claims.getSubject());
+        return tokenResponse("Tokens refreshed", credentials.get());
     }
 
     @PutMapping("/users/{username}/password")
@@ -99,34 +138,38 @@ public class LoginController {
     ) throws ForbiddenOperationException, NotFoundException {
 
         if (!username.equals(user.getUsername())) {
-            logger.warn("User {} tried to change password for {}, transactionID={}", user.getUsername(), username, MDC.get("transactionID"));
+            logger.warn("User {} tried to change password for {}", user.getUsername(), username);
             throw new ForbiddenOperationException("You can only change your own password");
         }
 
         if(user.getAuthorities().stream().anyMatch(auth -> auth.getAuthority().equals("ROLE_TRAINEE"))){
-            Optional<Trainee> trainee = gymFacade.selectByTraineeName(username);
-
-            if(trainee.isEmpty()){
-                logger.warn("Trainee {} not found, transactionID={}", username, MDC.get("transactionID"));
+            if(gymFacade.selectByTraineeName(username).isEmpty()){
+                logger.warn("Trainee {} not found", username);
                 throw new NotFoundException("Trainee not found");
             }
 
-            trainee.get().setPassword(newPassword);
-            gymFacade.updateTrainee(trainee.get());
+            gymFacade.changeTraineePassword(username, newPassword);
 
         } else {
-            Optional<Trainer> trainer = gymFacade.selectTrainerByUserName(username);
-
-            if(trainer.isEmpty()){
-                logger.warn("Trainer {} not found, transactionID={}", username, MDC.get("transactionID"));
+            if(gymFacade.selectTrainerByUserName(username).isEmpty()){
+                logger.warn("Trainer {} not found", username);
                 throw new NotFoundException("Trainer not found");
             }
 
-            trainer.get().setPassword(newPassword);
-            gymFacade.updateTrainer(trainer.get());
+            gymFacade.changeTrainerPassword(username, newPassword);
         }
 
-        logger.info("Password for user {} changed successfully, transactionID={}", username, MDC.get("transactionID"));
+        logger.info("Password for user {} changed successfully", username);
         return Map.of("message", "Password changed successfully");
     }
+
+    private Map<String, String> tokenResponse(String message, UserCredentials credentials) {
+        return Map.of(
+                "message", message,
+                "tokenType", "Bearer",
+                "accessToken", jwtService.issueAccessToken(credentials),
+                "refreshToken", jwtService.issueRefreshToken(credentials),
+                "expiresIn", String.valueOf(jwtService.getAccessTtl().toSeconds())
+        );
+    }
 }
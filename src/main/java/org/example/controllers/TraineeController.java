@@ -10,7 +10,6 @@ import org.example.exceptions.ForbiddenOperationException;
 import org.example.exceptions.NotFoundException;
 import org.example.facade.GymFacade;
 import org.example.model.Trainee;
-import org.example.model.Training;
 import org.example.model.User;
 import org.example.requestBodies.CreateTraineeRequest;
 import org.example.requestBodies.UpdateActiveRequest;
@@ -18,16 +17,16 @@ import org.example.requestBodies.UpdateTraineeRequest;
 import org.example.responseBodies.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(value = "trainees", produces = {"application/JSON"})
@@ -67,9 +66,9 @@ public class TraineeController {
 
         Map<String, String> result = new HashMap<>();
         result.put("username", trainee.getUsername());
-        result.put("password", trainee.getPassword());
+        result.put("password", trainee.getInitialPassword());
 
-        logger.info("new trainee with username: {} created, transactionID={}", trainee.getUsername(), MDC.get("transactionID"));
+        logger.info("new trainee with username: {} created", trainee.getUsername());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
@@ -82,6 +81,10 @@ public class TraineeController {
                             description = "Successfully returned profile information",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = TraineeWithTrainersDTO.class))
                     ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Profile has not changed since the given ETag"
+                    ),
                     @ApiResponse(
                             responseCode = "403",
                             description = "User is not authorized to get the information",
@@ -96,33 +99,35 @@ public class TraineeController {
     )
     public ResponseEntity<TraineeWithTrainersDTO> getTrainee(
             @PathVariable String username,
-            @AuthenticationPrincipal org.springframework.security.core.userdetails.User user
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.User user,
+            WebRequest webRequest
     ) throws ForbiddenOperationException {
-        logger.info("GET /trainees/{} called, transactionID={}", username, MDC.get("transactionID"));
+        logger.debug("GET /trainees/{} called", username);
 
         if (!Objects.equals(username, user.getUsername())){
-            logger.warn("You are not logged in as user: {}, transactionID={}", username, MDC.get("transactionID"));
+            logger.warn("You are not logged in as user: {}", username);
             throw new ForbiddenOperationException("Forbidden to get as current user");
         }
 
-        Optional<Trainee> trainee = gymFacade.selectByTraineeName(username);
+        Optional<Long> version = gymFacade.getTraineeVersion(username);
+        if (version.isPresent() && webRequest.checkNotModified(profileETag(version.get()))) {
+            logger.debug("Trainee {} not modified, returning 304", username);
+            return null;
+        }
+
+        Optional<TraineeWithTrainersDTO> trainee = gymFacade.getTraineeProfileView(username);
 
-        if(trainee.isEmpty()){
-            logger.warn("Trainee {} not found, returning 404, transactionID={}", username, MDC.get("transactionID"));
+        if(version.isEmpty() || trainee.isEmpty()){
+            logger.warn("Trainee {} not found, returning 404", username);
             return ResponseEntity.notFound().build();
         }
 
-        logger.info("Returning 200 with trainee {}, transactionID={}", trainee.get().getUsername(), MDC.get("transactionID"));
-
-        return ResponseEntity.ok(
-                new TraineeWithTrainersDTO(new TraineeDTO(trainee.get()),
-                        trainee.get().getTrainings().stream()
-                                .map(Training::getTrainer)
-                                .distinct()
-                                .map(TrainerDTO::new)
-                                .collect(Collectors.toSet())
-                )
-        );
+        logger.debug("Returning 200 with trainee {}", username);
+
+        return ResponseEntity.ok()
+                .eTag(profileETag(version.get()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(trainee.get());
     }
 
     @PutMapping("/{username}")
@@ -155,17 +160,17 @@ public class TraineeController {
             @AuthenticationPrincipal org.springframework.security.core.userdetails.User user
     ) throws NotFoundException, ForbiddenOperationException {
 
-        logger.info("PUT /trainees/{} called, transactionID={}", username, MDC.get("transactionID"));
+        logger.info("PUT /trainees/{} called", username);
 
         Optional<Trainee> trainee = gymFacade.selectByTraineeName(username);
 
         if (!Objects.equals(username, user.getUsername())) {
-            logger.warn("You are not logged in as user: {}, cannot update, transactionID={}", username, MDC.get("transactionID"));
+            logger.warn("You are not logged in as user: {}, cannot update", username);
             throw new ForbiddenOperationException("Forbidden to get as current user");
         }
 
         if (trainee.isEmpty()) {
-            logger.warn("Your username \"{}\" is not in database, transactionID={}", username, MDC.get("transactionID"));
+            logger.warn("Your username \"{}\" is not in database", username);
             throw new NotFoundException("User not found");
         }
 
@@ -210,7 +215,7 @@ public class TraineeController {
             @PathVariable String username,
             @AuthenticationPrincipal org.springframework.security.core.userdetails.User user
     ) throws ForbiddenOperationException, NotFoundException {
-        logger.info("DELETE /trainees/{} called, transactionID={}", username, MDC.get("transactionID"));
+        logger.info("DELETE /trainees/{} called", username);
 
         if (!Objects.equals(username, user.getUsername())) {
             throw new ForbiddenOperationException("You can only access your own profile");
@@ -224,7 +229,7 @@ public class TraineeController {
 
         gymFacade.deleteTrainee(trainee.get().getUserId());
 
-        logger.info("Trainee {} deleted successfully, transactionID={}", username, MDC.get("transactionID"));
+        logger.info("Trainee {} deleted successfully", username);
         return ResponseEntity.noContent().build();
 
     }
@@ -255,17 +260,17 @@ public class TraineeController {
             @RequestBody UpdateActiveRequest isActiveRequest,
             @AuthenticationPrincipal org.springframework.security.core.userdetails.User user
     ) throws NotFoundException, ForbiddenOperationException {
-        logger.info("PATCH /trainees/activate called for {}, transactionID={}", username, MDC.get("transactionID"));
+        logger.info("PATCH /trainees/activate called for {}", username);
 
         if (!Objects.equals(username, user.getUsername())) {
-            logger.warn("User {} tried to change active status for {}, transactionID={}", user.getUsername(), username, MDC.get("transactionID"));
+            logger.warn("User {} tried to change active status for {}", user.getUsername(), username);
             throw new ForbiddenOperationException("Forbidden to get as current user");
         }
 
         Optional<Trainee> trainee = gymFacade.selectByTraineeName(username);
 
         if (trainee.isEmpty()) {
-            logger.warn("Trainee {} not found, transactionID={}", username, MDC.get("transactionID"));
+            logger.warn("Trainee {} not found", username);
             throw new NotFoundException("User not found");
 
         }
@@ -273,14 +278,15 @@ public class TraineeController {
         trainee.get().setActive(isActiveRequest.getIsActive());
         gymFacade.updateTrainee(trainee.get());
 
-        logger.info("Trainee {} active status updated to {}, transactionID={}", username, isActiveRequest.getIsActive(), MDC.get("transactionID"));
+        logger.info("Trainee {} active status updated to {}", username, isActiveRequest.getIsActive());
         return ResponseEntity.ok(Map.of("message", "Trainee active status updated successfully"));
 
     }
 
     @GetMapping("{username}/not-assigned-trainers")
     @Operation(
-            summary = "Get trainers not assigned to the trainee (only self)",
+            summary = "Get active trainers not assigned to the trainee (only self), ordered by username; " +
+                    "pass the returned 'after' cursor to get the next page, it is absent on the last page",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -301,25 +307,23 @@ public class TraineeController {
     )
     public ResponseEntity<?> getNotAssignedTrainers(
             @PathVariable String username,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
             @AuthenticationPrincipal org.springframework.security.core.userdetails.User user
     ) throws NotFoundException, ForbiddenOperationException {
-        logger.info("GET /trainees/not-assigned called for {}, transactionID={}", username, MDC.get("transactionID"));
+        logger.debug("GET /trainees/not-assigned called for {}", username);
 
         if (!Objects.equals(username, user.getUsername())) {
-            logger.warn("You are not logged in as user: {}, transactionID={}", username, MDC.get("transactionID"));
+            logger.warn("You are not logged in as user: {}", username);
             throw new ForbiddenOperationException("Forbidden to get as current user");
         }
 
-        Optional<Trainee> trainee = gymFacade.selectByTraineeName(username);
-        if (trainee.isEmpty()) {
-            logger.warn("Trainee {} not found, transactionID={}", username, MDC.get("transactionID"));
+        if (gymFacade.getTraineeVersion(username).isEmpty()) {
+            logger.warn("Trainee {} not found", username);
             throw new NotFoundException("User not found");
         }
 
-        var trainers = gymFacade.getUnsignedTrainers(username).stream()
-                .filter(User::isActive).map(TrainerDTO::new).collect(Collectors.toSet());
-
-        return ResponseEntity.ok(new GetTrainersResponse(trainers));
+        return ResponseEntity.ok(gymFacade.getUnsignedTrainerViews(username, after, limit));
     }
 
     @GetMapping("{username}/trainings")
@@ -350,26 +354,24 @@ public class TraineeController {
             @RequestParam(required = false) String trainerName,
             @AuthenticationPrincipal org.springframework.security.core.userdetails.User user
     ) throws ForbiddenOperationException, NotFoundException {
-        logger.info("GET /trainees/trainings called for {}, transactionID={}", username, MDC.get("transactionID"));
+        logger.debug("GET /trainees/trainings called for {}", username);
 
         if (!Objects.equals(username, user.getUsername())) {
-            logger.warn("You are not logged in as user: {}, transactionID={}", username, MDC.get("transactionID"));
+            logger.warn("You are not logged in as user: {}", username);
             throw new ForbiddenOperationException("Forbidden to get as current user");
         }
 
-        var trainee = gymFacade.selectByTraineeName(username);
-        if (trainee.isEmpty()) {
-            logger.warn("Trainee {} not found, transactionID={}", username, MDC.get("transactionID"));
+        if (gymFacade.getTraineeVersion(username).isEmpty()) {
+            logger.warn("Trainee {} not found", username);
             throw new NotFoundException("User not found");
         }
 
-        List<TrainingDTO> trainings = Optional.ofNullable(gymFacade.getTraineeTrainings(username, trainerName, periodFrom, periodTo))
-                .orElse(List.of())
-                .stream()
-                .map(TrainingDTO::new)
-                .toList();
+        List<TrainingDTO> trainings = gymFacade.getTraineeTrainingViews(username, trainerName, periodFrom, periodTo);
 
         return ResponseEntity.ok(new TraineeTrainingsResponse(trainings));
     }
 
+    private static String profileETag(Long version) {
+        return "W/\"" + version + "\"";
+    }
 }
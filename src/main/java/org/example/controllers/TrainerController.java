@@ -9,28 +9,26 @@ import org.example.exceptions.ForbiddenOperationException;
 import org.example.exceptions.NotFoundException;
 import org.example.facade.GymFacade;
 import org.example.model.Trainer;
-import org.example.model.Training;
 import org.example.model.User;
 import org.example.requestBodies.CreateTrainerRequest;
 import org.example.requestBodies.UpdateActiveRequest;
 import org.example.requestBodies.UpdateTrainerRequest;
 import org.example.responseBodies.TrainerDTO;
-import org.example.responseBodies.TraineeDTO;
 import org.example.responseBodies.TrainerWithTraineesDTO;
 import org.example.responseBodies.TrainingDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping(value = "/trainers", produces = {"application/json"})
@@ -69,10 +67,10 @@ public class TrainerController {
 
         Map<String, String> result = Map.of(
                 "username", trainer.getUsername(),
-                "password", trainer.getPassword()
+                "password", trainer.getInitialPassword()
         );
 
-        logger.info("new trainer with username: {} created, transactionID={}", trainer.getUsername(), MDC.get("transactionID"));
+        logger.info("new trainer with username: {} created", trainer.getUsername());
 
         return ResponseEntity.status(201).body(result);
     }
@@ -86,6 +84,10 @@ public class TrainerController {
                             description = "Successfully returned profile information",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = TrainerWithTraineesDTO.class))
                     ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "Profile has not changed since the given ETag"
+                    ),
                     @ApiResponse(
                             responseCode = "403",
                             description = "User is forbidden to get this trainer info",
@@ -100,33 +102,34 @@ public class TrainerController {
     )
     public ResponseEntity<TrainerWithTraineesDTO> getTrainer(
             @PathVariable String username,
-            @AuthenticationPrincipal org.springframework.security.core.userdetails.User user
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.User user,
+            WebRequest webRequest
     ) throws ForbiddenOperationException, NotFoundException {
-        logger.info("GET /trainers/{} called, transactionID={}", username, MDC.get("transactionID"));
+        logger.debug("GET /trainers/{} called", username);
 
         if (!Objects.equals(username, user.getUsername())) {
-            logger.warn("You are not logged in as user: {}, transactionID={}", username, MDC.get("transactionID"));
+            logger.warn("You are not logged in as user: {}", username);
             throw new ForbiddenOperationException("You are not logged in as this trainer");
         }
 
-        Optional<Trainer> trainer = gymFacade.selectTrainerByUserName(username);
+        Optional<Long> version = gymFacade.getTrainerVersion(username);
+        if (version.isPresent() && webRequest.checkNotModified(profileETag(version.get()))) {
+            logger.debug("Trainer {} not modified, returning 304", username);
+            return null;
+        }
 
-        if (trainer.isEmpty()) {
-            logger.warn("Trainer {} not found, returning 404, transactionID={}", username, MDC.get("transactionID"));
+        Optional<TrainerWithTraineesDTO> trainer = gymFacade.getTrainerProfileView(username);
+
+        if (version.isEmpty() || trainer.isEmpty()) {
+            logger.warn("Trainer {} not found, returning 404", username);
             throw new NotFoundException("Trainer not found");
         }
 
-        TrainerWithTraineesDTO response = new TrainerWithTraineesDTO(
-                new TrainerDTO(trainer.get()),
-                trainer.get().getTrainings().stream()
-                        .map(Training::getTrainee)
-                        .distinct()
-                        .map(TraineeDTO::new)
-                        .collect(Collectors.toSet())
-        );
-
-        logger.info("Returning 200 with trainer {}, transactionID={}", trainer.get().getUsername(), MDC.get("transactionID"));
-        return ResponseEntity.ok(response);
+        logger.debug("Returning 200 with trainer {}", username);
+        return ResponseEntity.ok()
+                .eTag(profileETag(version.get()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(trainer.get());
     }
 
 
@@ -156,17 +159,17 @@ public class TrainerController {
             @RequestBody UpdateTrainerRequest request,
             @AuthenticationPrincipal org.springframework.security.core.userdetails.User user
     ) throws NotFoundException, ForbiddenOperationException {
-        logger.info("PUT /trainers/{} called, transactionID={}", username, MDC.get("transactionID"));
+        logger.info("PUT /trainers/{} called", username);
 
         Optional<Trainer> trainer = gymFacade.selectTrainerByUserName(username);
 
         if (!Objects.equals(username, user.getUsername())) {
-            logger.warn("You are not logged in as user: {}, cannot update, transactionID={}", username, MDC.get("transactionID"));
+            logger.warn("You are not logged in as user: {}, cannot update", username);
             throw new ForbiddenOperationException("You are not logged in as this trainer");
         }
 
         if (trainer.isEmpty()) {
-            logger.warn("Your username \"{}\" is not in database, transactionID={}", username, MDC.get("transactionID"));
+            logger.warn("Your username \"{}\" is not in database", username);
             throw new NotFoundException("Trainer not found");
         }
 
@@ -205,24 +208,24 @@ public class TrainerController {
             @RequestBody UpdateActiveRequest activeRequest,
             @AuthenticationPrincipal org.springframework.security.core.userdetails.User user
     ) throws NotFoundException, ForbiddenOperationException {
-        logger.info("PATCH /trainers/{}/activate called, transactionID={}", username, MDC.get("transactionID"));
+        logger.info("PATCH /trainers/{}/activate called", username);
 
         if (!Objects.equals(username, user.getUsername())) {
-            logger.warn("User {} tried to change active status for {}, transactionID={}", user.getUsername(), username, MDC.get("transactionID"));
+            logger.warn("User {} tried to change active status for {}", user.getUsername(), username);
             throw new ForbiddenOperationException("You can only change your own active status");
         }
 
         Optional<Trainer> trainer = gymFacade.selectTrainerByUserName(username);
 
         if (trainer.isEmpty()) {
-            logger.warn("Trainer {} not found, transactionID={}", username, MDC.get("transactionID"));
+            logger.warn("Trainer {} not found", username);
             throw new NotFoundException("Trainer not found");
         }
 
         trainer.get().setActive(activeRequest.getIsActive());
         gymFacade.updateTrainer(trainer.get());
 
-        logger.info("Trainer {} active status updated to {}, transactionID={}", username, activeRequest.getIsActive(), MDC.get("transactionID"));
+        logger.info("Trainer {} active status updated to {}", username, activeRequest.getIsActive());
         return ResponseEntity.ok(Map.of("message", "Trainer active status updated successfully"));
     }
 
@@ -257,18 +260,19 @@ public class TrainerController {
             @RequestParam(required = false) String traineeName,
             @AuthenticationPrincipal org.springframework.security.core.userdetails.User user
     ) throws ForbiddenOperationException {
-        logger.info("GET /trainers/{}/trainings called, transactionID={}", username, MDC.get("transactionID"));
+        logger.debug("GET /trainers/{}/trainings called", username);
 
         if (!username.equals(user.getUsername())) {
-            logger.warn("You can only view your own trainings, user={}, transactionID={}", username, MDC.get("transactionID"));
+            logger.warn("You can only view your own trainings, user={}", username);
             throw new ForbiddenOperationException("You can only view your own trainings");
         }
 
-        var trainings = gymFacade.getTrainerTrainings(username, traineeName, periodFrom, periodTo)
-                .stream()
-                .map(TrainingDTO::new)
-                .toList();
+        var trainings = gymFacade.getTrainerTrainingViews(username, traineeName, periodFrom, periodTo);
 
         return ResponseEntity.ok(trainings);
     }
+
+    private static String profileETag(Long version) {
+        return "W/\"" + version + "\"";
+    }
 }
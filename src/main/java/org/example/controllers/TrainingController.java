@@ -1,10 +1,15 @@
 package org.example.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.cache.TrainingTypeRegistry;
 import org.example.exceptions.ForbiddenOperationException;
 import org.example.exceptions.NotFoundException;
 import org.example.facade.GymFacade;
@@ -12,16 +17,25 @@ import org.example.model.Trainee;
 import org.example.model.Trainer;
 import org.example.model.Training;
 import org.example.model.TrainingType;
+import org.example.requestBodies.BatchTrainingRequest;
 import org.example.requestBodies.TrainingRequest;
+import org.example.responseBodies.BatchTrainingResponse;
+import org.example.responseBodies.TrainingDTO;
 import org.example.responseBodies.TrainingTypesResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.Map;
 import java.util.Optional;
@@ -33,9 +47,17 @@ public class TrainingController {
 
     private static final Logger logger = LoggerFactory.getLogger(TrainingController.class);
 
+    private static final String NDJSON = "application/x-ndjson";
+
     @Autowired
     private GymFacade gymFacade;
 
+    @Autowired
+    private TrainingTypeRegistry trainingTypeRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     @Operation(
             summary = "Add a new training session (trainer can only add trainings for themselves)",
@@ -60,22 +82,22 @@ public class TrainingController {
         LocalDate trainingDate = request.getTrainingDate();
         int duration = request.getDuration();
 
-        logger.info("POST /trainings called by {}, transactionID={}", trainerUsername, MDC.get("transactionID"));
+        logger.info("POST /trainings called by {}", trainerUsername);
 
         if (!trainerUsername.equals(user.getUsername())) {
-            logger.warn("User {} tried to add training as {}, transactionID={}", user.getUsername(), trainerUsername, MDC.get("transactionID"));
+            logger.warn("User {} tried to add training as {}", user.getUsername(), trainerUsername);
             throw new ForbiddenOperationException("You can only add trainings as yourself");
         }
 
         Optional<Trainee> te = gymFacade.selectByTraineeName(traineeUsername);
         if (te.isEmpty()) {
-            logger.warn("Trainee {} not found, transactionID={}", traineeUsername, MDC.get("transactionID"));
+            logger.warn("Trainee {} not found", traineeUsername);
             throw new NotFoundException("Trainee not found");
         }
 
         Optional<Trainer> tr = gymFacade.selectTrainerByUserName(trainerUsername);
         if (tr.isEmpty()) {
-            logger.warn("Trainer {} not found, transactionID={}", trainerUsername, MDC.get("transactionID"));
+            logger.warn("Trainer {} not found", trainerUsername);
             throw new NotFoundException("Trainer not found");
         }
 
@@ -84,12 +106,38 @@ public class TrainingController {
         tt = existingType.orElseGet(() -> gymFacade.createTrainingType(new TrainingType(trainingName)));
 
         gymFacade.createTraining(new Training(te.get(), tr.get(), trainingName, tt, trainingDate, duration));
-        logger.info("Training '{}' for trainee {} added by trainer {}, transactionID={}", trainingName, traineeUsername, trainerUsername, MDC.get("transactionID"));
+        logger.info("Training '{}' for trainee {} added by trainer {}", trainingName, traineeUsername, trainerUsername);
 
 
         return ResponseEntity.status(201).body(Map.of("message", "Training added successfully"));
     }
 
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Add many training sessions at once (trainer can only add trainings for themselves)",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Batch processed, see the result of each training",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchTrainingResponse.class))
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Batch is empty or too large")
+            }
+    )
+    public ResponseEntity<BatchTrainingResponse> addTrainings(
+            @RequestBody BatchTrainingRequest request,
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.User user
+    ) {
+        int size = request.getTrainings() == null ? 0 : request.getTrainings().size();
+        logger.info("POST /trainings/batch called by {}, size={}", user.getUsername(), size);
+
+        BatchTrainingResponse response = gymFacade.createTrainings(request.getTrainings(), user.getUsername());
+        logger.info("Training batch by {} created={}, rejected={}",
+                user.getUsername(), response.getCreated(), response.getRejected());
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/types")
     @Operation(
             summary = "Get all available training types",
@@ -98,12 +146,80 @@ public class TrainingController {
                             responseCode = "200",
                             description = "Returns a list of all training types",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = TrainingTypesResponse.class))
-                    )            }
+                    ),
+                    @ApiResponse(responseCode = "304", description = "Training types have not changed since the given ETag")
+            }
+    )
+    public ResponseEntity<byte[]> getTrainingTypes(WebRequest webRequest) {
+        logger.debug("GET /trainings/types called");
+
+        TrainingTypeRegistry.Snapshot types = trainingTypeRegistry.snapshot();
+        if (webRequest.checkNotModified(types.eTag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(types.eTag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(types.body());
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    @Operation(
+            summary = "Stream all trainings as newline-delimited JSON, optionally filtered by period and training type",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "One training per line",
+                            content = @Content(mediaType = NDJSON, schema = @Schema(implementation = TrainingDTO.class))
+                    ),
+                    @ApiResponse(responseCode = "400", description = "periodFrom is after periodTo")
+            }
     )
-    public ResponseEntity<TrainingTypesResponse> getTrainingTypes() {
-        logger.info("GET /trainings/types called, transactionID={}", MDC.get("transactionID"));
-        return ResponseEntity.ok(new TrainingTypesResponse(
-                gymFacade.getAllTrainingTypes().stream().map(TrainingType::getTrainingTypeName).toList()
-        ));
+    public ResponseEntity<StreamingResponseBody> exportTrainings(
+            @RequestParam(required = false) LocalDate periodFrom,
+            @RequestParam(required = false) LocalDate periodTo,
+            @RequestParam(required = false) String trainingType,
+            @AuthenticationPrincipal org.springframework.security.core.userdetails.User user
+    ) {
+        logger.info("GET /trainings/export called by {}, from={}, to={}, type={}",
+                user.getUsername(), periodFrom, periodTo, trainingType);
+
+        // the body is written on another thread, outside the filter that sets the MDC
+        String transactionId = MDC.get("transactionID");
+
+        if (periodFrom != null && periodTo != null && periodFrom.isAfter(periodTo)) {
+            throw new IllegalArgumentException("periodFrom must not be after periodTo");
+        }
+
+        // rows are buffered by the generator and flushed in chunks, never collected into a list
+        ObjectWriter writer = objectMapper.writerFor(TrainingDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                // one document per line: no default " " between root values, only the explicit newline
+                generator.setRootValueSeparator(null);
+                long exported = gymFacade.exportTrainings(periodFrom, periodTo, trainingType, training -> {
+                    try {
+                        writer.writeValue(generator, training);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.flush();
+                logger.info("Exported {} trainings for {}, transactionID={}", exported, user.getUsername(), transactionId);
+            } catch (UncheckedIOException e) {
+                logger.warn("Training export aborted for {}, transactionID={}", user.getUsername(), transactionId);
+                throw e.getCause();
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .cacheControl(CacheControl.noStore())
+                .body(body);
     }
 }
@@ -3,6 +3,7 @@ package org.example.exceptions;
 import org.example.responseBodies.ExceptionResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -34,6 +35,16 @@ public class GlobalExceptionHandler {
                 .body(new ExceptionResponse(ex.getMessage()));
     }
 
+    // the natural-key check and the insert can race, the unique constraint then fails at flush or commit
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ExceptionResponse> handleConflict(DataIntegrityViolationException ex) {
+        // a translated driver exception carries SQL in its message, only our own checks are safe to echo
+        String message = ex.getCause() == null ? ex.getMessage() : "Request conflicts with existing data";
+        logger.warn("Conflict: {}", ex.getMostSpecificCause().getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ExceptionResponse(message));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ExceptionResponse> handleGeneric(Exception ex) {
         logger.error("Unexpected error", ex);
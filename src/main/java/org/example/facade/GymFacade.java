@@ -1,10 +1,17 @@
 package org.example.facade;
 
 import org.example.model.*;
+import org.example.requestBodies.TrainingRequest;
+import org.example.responseBodies.BatchTrainingResponse;
+import org.example.responseBodies.GetTrainersResponse;
+import org.example.responseBodies.TraineeWithTrainersDTO;
+import org.example.responseBodies.TrainerWithTraineesDTO;
+import org.example.responseBodies.TrainingDTO;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface GymFacade {
 
@@ -14,26 +21,34 @@ public interface GymFacade {
     void deleteTrainee(Long id);
 
     Optional<Trainee> selectByTraineeName(String username);
+    Optional<Long> getTraineeVersion(String username);
     void changeTraineePassword(String password, String newPassword);
     void deleteByTraineeUserName(String username);
     void activateTrainee(Long id, boolean activate);
 
-    List<Training> getTraineeTrainings(String username, String TrainerName, LocalDate from, LocalDate to);
-    List<Trainer> getUnsignedTrainers(String traineeUserName);
+    Optional<TraineeWithTrainersDTO> getTraineeProfileView(String username);
+    List<TrainingDTO> getTraineeTrainingViews(String username, String trainerName, LocalDate from, LocalDate to);
+    GetTrainersResponse getUnsignedTrainerViews(String traineeUserName, String after, Integer limit);
 
     Trainer createTrainer(User user, String specialization);
     Optional<Trainer> selectTrainer(Long id);
     void updateTrainer(Trainer trainer);
 
     Optional<Trainer> selectTrainerByUserName(String username);
+    Optional<Long> getTrainerVersion(String username);
     void changeTrainerPassword(String password, String newPassword);
     void deleteTrainerByUserName(String username);
     void activateTrainer(Long id, boolean activate);
 
-    List<Training> getTrainerTrainings(String username, String TraineeName, LocalDate from, LocalDate to);
+    Optional<TrainerWithTraineesDTO> getTrainerProfileView(String username);
+    List<TrainingDTO> getTrainerTrainingViews(String username, String traineeName, LocalDate from, LocalDate to);
 
     void createTraining(Training training);
+    BatchTrainingResponse createTrainings(List<TrainingRequest> trainings, String trainerUsername);
     Optional<Training> selectTraining(Long traineeId, Long trainerId, LocalDate date, TrainingType trainingType);
+    long exportTrainings(LocalDate from, LocalDate to, String trainingType, Consumer<TrainingDTO> sink);
+
+    Optional<UserCredentials> selectCredentials(String username);
 
     TrainingType createTrainingType(TrainingType trainingType);
     Optional<TrainingType> selectTrainingType(String name);
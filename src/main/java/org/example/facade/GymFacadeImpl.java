@@ -1,9 +1,18 @@
 package org.example.facade;
 
+import org.example.Dao.CredentialsDao;
 import org.example.Dao.TrainingTypeDao;
+import org.example.cache.TrainingTypeRegistry;
 import org.example.model.*;
+import org.example.requestBodies.TrainingRequest;
+import org.example.responseBodies.BatchTrainingResponse;
+import org.example.responseBodies.GetTrainersResponse;
+import org.example.responseBodies.TraineeWithTrainersDTO;
+import org.example.responseBodies.TrainerWithTraineesDTO;
+import org.example.responseBodies.TrainingDTO;
 import org.example.service.TraineeService;
 import org.example.service.TrainerService;
+import org.example.service.TrainingBatchService;
 import org.example.service.TrainingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +23,7 @@ import jakarta.transaction.Transactional;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Component
 @Transactional
@@ -24,16 +34,23 @@ public class GymFacadeImpl implements GymFacade {
     private final TraineeService traineeService;
     private final TrainerService trainerService;
     private final TrainingService trainingService;
+    private final TrainingBatchService trainingBatchService;
 
     private final TrainingTypeDao trainingTypeDao;
+    private final TrainingTypeRegistry trainingTypeRegistry;
+    private final CredentialsDao credentialsDao;
 
     @Autowired
     public GymFacadeImpl(TraineeService traineeService, TrainerService trainerService, TrainingService trainingService,
-                         TrainingTypeDao trainingTypeDao) {
+                         TrainingBatchService trainingBatchService, TrainingTypeDao trainingTypeDao,
+                         TrainingTypeRegistry trainingTypeRegistry, CredentialsDao credentialsDao) {
         this.traineeService = traineeService;
         this.trainerService = trainerService;
         this.trainingService = trainingService;
+        this.trainingBatchService = trainingBatchService;
         this.trainingTypeDao = trainingTypeDao;
+        this.trainingTypeRegistry = trainingTypeRegistry;
+        this.credentialsDao = credentialsDao;
     }
 
     @Override
@@ -48,7 +65,7 @@ public class GymFacadeImpl implements GymFacade {
         if (trainee.isEmpty()) {
             logger.warn("Trainee with ID {} not found.", id);
         } else {
-            logger.info("Selected Trainee with ID: {}", id);
+            logger.debug("Selected Trainee with ID: {}", id);
         }
         return trainee;
     }
@@ -62,7 +79,7 @@ public class GymFacadeImpl implements GymFacade {
     @Override
     public void deleteTrainee(Long id) {
         traineeService.delete(id);
-        logger.info("Deleted Trainee with ID: {}", id);
+        logger.debug("Deleted Trainee with ID: {}", id);
     }
 
     @Override
@@ -70,6 +87,11 @@ public class GymFacadeImpl implements GymFacade {
         return traineeService.selectByUserName(username);
     }
 
+    @Override
+    public Optional<Long> getTraineeVersion(String username) {
+        return traineeService.getVersion(username);
+    }
+
     @Override
     public void changeTraineePassword(String password, String newPassword) {
         traineeService.changePassword(password, newPassword);
@@ -86,13 +108,18 @@ public class GymFacadeImpl implements GymFacade {
     }
 
     @Override
-    public List<Training> getTraineeTrainings(String username, String TrainerName, LocalDate from, LocalDate to) {
-        return traineeService.getTrainings(username, TrainerName, from, to);
+    public Optional<TraineeWithTrainersDTO> getTraineeProfileView(String username) {
+        return traineeService.getProfileView(username);
+    }
+
+    @Override
+    public List<TrainingDTO> getTraineeTrainingViews(String username, String trainerName, LocalDate from, LocalDate to) {
+        return traineeService.getTrainingViews(username, trainerName, from, to);
     }
 
     @Override
-    public List<Trainer> getUnsignedTrainers(String traineeUserName) {
-        return traineeService.getUnsignedTrainers(traineeUserName);
+    public GetTrainersResponse getUnsignedTrainerViews(String traineeUserName, String after, Integer limit) {
+        return traineeService.getUnsignedTrainerViews(traineeUserName, after, limit);
     }
 
     @Override
@@ -107,7 +134,7 @@ public class GymFacadeImpl implements GymFacade {
         if (trainer.isEmpty()) {
             logger.warn("Trainer with ID {} not found.", id);
         } else {
-            logger.info("Selected Trainer with ID: {}", id);
+            logger.debug("Selected Trainer with ID: {}", id);
         }
         return trainer;
     }
@@ -123,6 +150,11 @@ public class GymFacadeImpl implements GymFacade {
         return trainerService.selectByUserName(username);
     }
 
+    @Override
+    public Optional<Long> getTrainerVersion(String username) {
+        return trainerService.getVersion(username);
+    }
+
     @Override
     public void changeTrainerPassword(String password, String newPassword) {
         trainerService.changePassword(password, newPassword);
@@ -139,8 +171,13 @@ public class GymFacadeImpl implements GymFacade {
     }
 
     @Override
-    public List<Training> getTrainerTrainings(String username, String TraineeName, LocalDate from, LocalDate to) {
-        return trainerService.getTrainings(username, TraineeName, from, to);
+    public Optional<TrainerWithTraineesDTO> getTrainerProfileView(String username) {
+        return trainerService.getProfileView(username);
+    }
+
+    @Override
+    public List<TrainingDTO> getTrainerTrainingViews(String username, String traineeName, LocalDate from, LocalDate to) {
+        return trainerService.getTrainingViews(username, traineeName, from, to);
     }
 
     @Override
@@ -150,34 +187,58 @@ public class GymFacadeImpl implements GymFacade {
     }
 
     @Override
-    public Optional<Training> selectTraining(Long traineeId, Long trainerId, LocalDate date, TrainingType trainingType) {
-
-        Long id = Training.generateNumericHash(traineeId, trainerId, date);
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public BatchTrainingResponse createTrainings(List<TrainingRequest> trainings, String trainerUsername) {
+        // each chunk commits on its own, so a large batch never holds one long transaction
+        return trainingBatchService.create(trainings, trainerUsername);
+    }
 
-        Optional<Training> training = trainingService.select(id);
+    @Override
+    public Optional<Training> selectTraining(Long traineeId, Long trainerId, LocalDate date, TrainingType trainingType) {
+        Optional<Training> training = trainingService.select(traineeId, trainerId, date);
         if (training.isEmpty()) {
-            logger.warn("Training with ID {} not found.", id);
+            logger.warn("Training for trainee {} and trainer {} on {} not found.", traineeId, trainerId, date);
         } else {
-            logger.info("Selected Training with ID: {}", id);
+            logger.debug("Selected Training with ID: {}", training.get().getId());
         }
         return training;
     }
 
+    @Override
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public long exportTrainings(LocalDate from, LocalDate to, String trainingType, Consumer<TrainingDTO> sink) {
+        // the export reads through its own stateless session, so no transaction is held here
+        return trainingService.export(from, to, trainingType, sink);
+    }
+
+    @Override
+    public Optional<UserCredentials> selectCredentials(String username) {
+        return credentialsDao.findByUserName(username);
+    }
+
     @Override
     public TrainingType createTrainingType(TrainingType trainingType) {
-        return trainingTypeDao.create(trainingType);
+        TrainingType created = trainingTypeDao.create(trainingType);
+        trainingTypeRegistry.register(created);
+        return created;
     }
 
     @Override
     public Optional<TrainingType> selectTrainingType(String name) {
-        return trainingTypeDao.findByField("trainingTypeName", name)
+        Optional<TrainingType> registered = trainingTypeRegistry.find(name);
+        if (registered.isPresent())
+            return registered;
+
+        Optional<TrainingType> stored = trainingTypeDao.findByField("trainingTypeName", name)
                 .stream()
                 .findFirst();
+        stored.ifPresent(trainingTypeRegistry::register);
+        return stored;
     }
 
     @Override
     public List<TrainingType> getAllTrainingTypes() {
-        return trainingTypeDao.runQuery("SELECT t FROM TrainingType t");
+        return trainingTypeRegistry.getAll();
     }
 
 
@@ -11,16 +11,21 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Order(Ordered.HIGHEST_PRECEDENCE)
 @Component
 public class TransactionLoggingFilter extends OncePerRequestFilter {
 
+    // ids only correlate log lines, so a random per-instance prefix and a counter replace SecureRandom-backed UUIDs
+    private final String prefix = String.format("%08x-", ThreadLocalRandom.current().nextInt());
+    private final AtomicLong sequence = new AtomicLong();
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
 
-        String transactionID = UUID.randomUUID().toString();
+        String transactionID = prefix + Long.toHexString(sequence.incrementAndGet());
 
         MDC.put("transactionID", transactionID);
 
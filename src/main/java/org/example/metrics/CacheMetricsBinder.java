@@ -0,0 +1,45 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.cache.ExpiringCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// same meter names and tags as Micrometer's own cache binders, keyed by the cache bean name
+@Component
+public class CacheMetricsBinder implements MeterBinder {
+
+    private final Map<String, ExpiringCache<?, ?>> caches;
+
+    @Autowired
+    public CacheMetricsBinder(Map<String, ExpiringCache<?, ?>> caches) {
+        this.caches = Map.copyOf(caches);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        caches.forEach((name, cache) -> {
+            FunctionCounter.builder("cache.gets", cache, ExpiringCache::getHits)
+                    .tags("cache", name, "result", "hit")
+                    .description("The number of times cache lookup methods have returned a cached value")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", cache, ExpiringCache::getMisses)
+                    .tags("cache", name, "result", "miss")
+                    .description("The number of times cache lookup methods have not returned a value")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", cache, ExpiringCache::getEvictions)
+                    .tags("cache", name)
+                    .description("The number of entries evicted by size or expiry")
+                    .register(registry);
+            Gauge.builder("cache.size", cache, ExpiringCache::size)
+                    .tags("cache", name)
+                    .description("The number of entries in this cache")
+                    .register(registry);
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "latency")
+public class EndpointLatencyEndpoint {
+
+    private final EndpointLatencyRecorder recorder;
+
+    @Autowired
+    public EndpointLatencyEndpoint(EndpointLatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @ReadOperation
+    public EndpointLatencyRecorder.Report latency() {
+        return recorder.report();
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+@Component
+public class EndpointLatencyInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STARTED = EndpointLatencyInterceptor.class.getName() + ".started";
+
+    private final EndpointLatencyRecorder recorder;
+
+    @Autowired
+    public EndpointLatencyInterceptor(EndpointLatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // an async dispatch runs the interceptor again, keep the start of the original request
+        if (request.getAttribute(STARTED) == null) {
+            request.setAttribute(STARTED, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !(request.getAttribute(STARTED) instanceof Long started))
+            return;
+
+        // an exception no resolver handled still leaves the default status here, the container turns it into a 500
+        int status = ex != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        recorder.record(handlerMethod.getMethod(), request.getMethod(), String.valueOf(pattern),
+                status, System.nanoTime() - started);
+    }
+}
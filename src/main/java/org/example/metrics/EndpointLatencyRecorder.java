@@ -0,0 +1,103 @@
+package org.example.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// request threads only touch wait-free HdrHistogram recorders; the scheduled rollover swaps them out
+@Component
+public class EndpointLatencyRecorder {
+
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final Map<Method, Route> routes = new ConcurrentHashMap<>();
+    private final Duration interval;
+
+    private volatile long intervalStart = System.currentTimeMillis();
+    private volatile long intervalEnd = intervalStart;
+
+    public EndpointLatencyRecorder(@Value("${metrics.latency.interval:60s}") Duration interval) {
+        this.interval = interval;
+    }
+
+    public void record(Method handler, String httpMethod, String pattern, int status, long nanos) {
+        Route route = routes.get(handler);
+        if (route == null) {
+            route = routes.computeIfAbsent(handler, h -> new Route(httpMethod + " " + pattern));
+        }
+
+        int statusClass = Math.min(Math.max(status / 100, 1), 5) - 1;
+        route.recorders[statusClass].recordValue(Math.max(1, nanos / 1_000));
+    }
+
+    @Scheduled(fixedRateString = "${metrics.latency.interval:60s}", initialDelayString = "${metrics.latency.interval:60s}")
+    public synchronized void rollover() {
+        long now = System.currentTimeMillis();
+        for (Route route : routes.values()) {
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                Histogram histogram = route.recorders[i].getIntervalHistogram();
+                route.total[i] += histogram.getTotalCount();
+                route.lastInterval[i] = histogram;
+            }
+        }
+        intervalStart = intervalEnd;
+        intervalEnd = now;
+    }
+
+    public synchronized Report report() {
+        double seconds = Math.max(1, intervalEnd - intervalStart) / 1000.0;
+        List<RouteStats> stats = new ArrayList<>();
+
+        for (Route route : routes.values()) {
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                Histogram histogram = route.lastInterval[i];
+                long total = route.total[i];
+                if (total == 0)
+                    continue;
+
+                long count = histogram == null ? 0 : histogram.getTotalCount();
+                stats.add(new RouteStats(route.name, STATUS_CLASSES[i], count, total, count / seconds,
+                        millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9),
+                        histogram == null || count == 0 ? 0 : histogram.getMaxValue() / 1000.0));
+            }
+        }
+
+        stats.sort(Comparator.comparingDouble(RouteStats::p99Ms).reversed());
+        return new Report(interval.toSeconds(), intervalStart, intervalEnd, stats);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        if (histogram == null || histogram.getTotalCount() == 0)
+            return 0;
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static class Route {
+        private final String name;
+        private final Recorder[] recorders = new Recorder[STATUS_CLASSES.length];
+        private final Histogram[] lastInterval = new Histogram[STATUS_CLASSES.length];
+        private final long[] total = new long[STATUS_CLASSES.length];
+
+        Route(String name) {
+            this.name = name;
+            for (int i = 0; i < recorders.length; i++) {
+                recorders[i] = new Recorder(3);
+            }
+        }
+    }
+
+    public record RouteStats(String route, String status, long count, long total, double throughput,
+                             double p50Ms, double p99Ms, double p999Ms, double maxMs) {}
+
+    public record Report(long intervalSeconds, long intervalStart, long intervalEnd, List<RouteStats> routes) {}
+}
@@ -0,0 +1,85 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+class PersistenceMetricsInterceptor implements MethodInterceptor {
+
+    static final String TIMER = "storage.operation";
+    static final String ROWS = "storage.rows";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String entity;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    PersistenceMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, String entity) {
+        this.meterRegistry = meterRegistry;
+        this.entity = entity;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class)
+            return invocation.proceed();
+
+        Meters methodMeters = meters.computeIfAbsent(method, this::register);
+        long started = System.nanoTime();
+
+        try {
+            Object result = invocation.proceed();
+            methodMeters.success().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+            int rows = rows(result);
+            if (rows >= 0)
+                methodMeters.rows().record(rows);
+            return result;
+        } catch (Throwable e) {
+            Timer.builder(TIMER)
+                    .tags("entity", entity, "operation", method.getName(), "outcome", "error",
+                            "exception", e.getClass().getSimpleName())
+                    .register(methodMeters.registry())
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Meters register(Method method) {
+        MeterRegistry registry = meterRegistry.getObject();
+
+        Timer success = Timer.builder(TIMER)
+                .description("Latency of persistence operations")
+                .tags("entity", entity, "operation", method.getName(), "outcome", "success", "exception", "none")
+                .register(registry);
+
+        DistributionSummary rows = DistributionSummary.builder(ROWS)
+                .description("Rows returned or affected by persistence operations")
+                .tags("entity", entity, "operation", method.getName())
+                .register(registry);
+
+        return new Meters(registry, success, rows);
+    }
+
+    private static int rows(Object result) {
+        if (result instanceof Collection<?> collection)
+            return collection.size();
+        if (result instanceof Optional<?> optional)
+            return optional.isPresent() ? 1 : 0;
+        if (result instanceof Integer count)
+            return count;
+        return -1;
+    }
+
+    private record Meters(MeterRegistry registry, Timer success, DistributionSummary rows) {}
+}
@@ -0,0 +1,69 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.Dao.GenericDao;
+import org.example.Dao.TrainingTypeDao;
+import org.example.storage.StorageSystem;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.stereotype.Component;
+
+// wraps every StorageSystem bean and TrainingTypeDao after their transactional and repository proxies are built
+@Component
+public class PersistenceMetricsPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private ConfigurableListableBeanFactory beanFactory;
+
+    public PersistenceMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        String entity = entityOf(bean, beanName);
+        if (entity == null)
+            return bean;
+
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new PersistenceMetricsInterceptor(meterRegistry, entity));
+
+        // outermost advice, so the recorded latency includes transaction begin and commit
+        if (bean instanceof Advised advised && !advised.isFrozen() && AopUtils.isAopProxy(bean)) {
+            advised.addAdvisor(0, advisor);
+            return bean;
+        }
+
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(!(bean instanceof StorageSystem));
+        proxyFactory.addAdvisor(advisor);
+        return proxyFactory.getProxy(beanFactory.getBeanClassLoader());
+    }
+
+    private String entityOf(Object bean, String beanName) {
+        ResolvableType type;
+        if (bean instanceof StorageSystem<?> && beanFactory.containsBeanDefinition(beanName)) {
+            type = beanFactory.getMergedBeanDefinition(beanName).getResolvableType().as(StorageSystem.class);
+        } else if (bean instanceof TrainingTypeDao) {
+            type = ResolvableType.forClass(AopUtils.getTargetClass(bean)).as(GenericDao.class);
+        } else {
+            return null;
+        }
+
+        Class<?> entity = type.getGeneric(0).resolve();
+        return entity == null ? "unknown" : entity.getSimpleName();
+    }
+}
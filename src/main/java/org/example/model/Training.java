@@ -1,20 +1,28 @@
 package org.example.model;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "trainings")
+@Table(name = "trainings", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_trainings_trainee_trainer_date", columnNames = {"trainee_id", "trainer_id", "trainingDate"})
+}, indexes = {
+        @Index(name = "idx_trainings_trainee_date", columnList = "trainee_id, trainingDate"),
+        @Index(name = "idx_trainings_trainer_date", columnList = "trainer_id, trainingDate")
+})
 public class Training {
 
     @Id
+    @TimeOrderedId
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "trainee_id", nullable = false)
     private Trainee trainee;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "trainer_id", nullable = false)
     private Trainer trainer;
 
@@ -24,13 +32,17 @@ public class Training {
     @Column(nullable = false)
     private String trainingName;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "training_type", nullable = false)
     private TrainingType trainingType;
 
     @Column(nullable = false)
     private int trainingDuration;
 
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     public Training() {}
 
     public Training(Trainee trainee, Trainer trainer, String trainingName,
@@ -41,8 +53,6 @@ public class Training {
         this.trainingType = trainingType;
         this.trainingDate = trainingDate;
         this.trainingDuration = trainingDuration;
-
-        this.id = generateNumericHash(trainee.getUserId(), trainer.getUserId(), trainingDate);
     }
 
     public Long getId() { return id; }
@@ -52,13 +62,6 @@ public class Training {
     public String getTrainingName() { return trainingName; }
     public TrainingType getTrainingType() { return trainingType; }
     public int getTrainingDuration() { return trainingDuration; }
-
-    public static Long generateNumericHash(Long traineeId, Long trainerId, LocalDate date) {
-        long hash = 7;
-        hash = 31 * hash + traineeId;
-        hash = 31 * hash + trainerId;
-        hash = 31 * hash + date.toString().hashCode();
-        return hash;
-    }
+    public Long getVersion() { return version; }
 
 }
@@ -1,5 +1,6 @@
 package org.example.model;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.validator.constraints.NotBlank;
 
 import jakarta.persistence.*;
@@ -10,7 +11,7 @@ import jakarta.persistence.*;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @PooledSequence(sequenceName = "Users_SEQ")
     private Long userId;
 
     @NotBlank
@@ -24,6 +25,13 @@ public class User {
 
     private boolean isActive;
 
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
+    @Transient
+    private String initialPassword;
+
     public User() {}
 
     public User(String firstName, String lastName, String username, String password, boolean isActive) {
@@ -46,10 +54,17 @@ public class User {
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
 
+    public String getInitialPassword() { return initialPassword; }
+    public void setInitialPassword(String initialPassword) { this.initialPassword = initialPassword; }
+
     public boolean isActive() { return isActive; }
     public void setActive(boolean active) { isActive = active; }
 
     public Long getUserId() {
         return userId;
     }
+
+    public Long getVersion() {
+        return version;
+    }
 }
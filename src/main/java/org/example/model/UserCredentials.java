@@ -0,0 +1,3 @@
+package org.example.model;
+
+public record UserCredentials(String username, String password, String role, boolean active) {}
@@ -0,0 +1,23 @@
+package org.example.requestBodies;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+@Schema(name = "BatchTrainingRequest", description = "Request body for creating many training sessions at once")
+public class BatchTrainingRequest {
+
+    @NotEmpty
+    @Schema(description = "Training sessions to create, results are reported by their position in this list")
+    private List<TrainingRequest> trainings;
+
+    public BatchTrainingRequest() {}
+
+    public BatchTrainingRequest(List<TrainingRequest> trainings) {
+        this.trainings = trainings;
+    }
+
+    public List<TrainingRequest> getTrainings() { return trainings; }
+    public void setTrainings(List<TrainingRequest> trainings) { this.trainings = trainings; }
+}
@@ -0,0 +1,21 @@
+package org.example.requestBodies;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+@Schema(name = "RefreshTokenRequest", description = "Request body for exchanging a refresh token")
+public class RefreshTokenRequest {
+
+    @NotBlank
+    @Schema(description = "Refresh token issued by /auth/login or /auth/refresh")
+    private String refreshToken;
+
+    public RefreshTokenRequest() {}
+
+    public RefreshTokenRequest(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() { return refreshToken; }
+    public void setRefreshToken(String refreshToken) { this.refreshToken = refreshToken; }
+}
@@ -0,0 +1,36 @@
+package org.example.responseBodies;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Response containing the outcome of every training in a batch")
+public class BatchTrainingResponse {
+
+    @Schema(description = "Number of trainings created")
+    private final int created;
+
+    @Schema(description = "Number of trainings not created")
+    private final int rejected;
+
+    @Schema(description = "One result per requested training, in request order")
+    private final List<BatchTrainingResult> results;
+
+    public BatchTrainingResponse(List<BatchTrainingResult> results) {
+        this.results = results;
+        this.created = (int) results.stream().filter(r -> r.getStatus() == BatchTrainingResult.Status.CREATED).count();
+        this.rejected = results.size() - created;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public List<BatchTrainingResult> getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.responseBodies;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Outcome of a single training in a batch")
+public class BatchTrainingResult {
+
+    public enum Status { CREATED, INVALID, FORBIDDEN, NOT_FOUND, DUPLICATE, FAILED }
+
+    @Schema(description = "Position of the training in the request")
+    private final int index;
+
+    @Schema(description = "Outcome of the training")
+    private final Status status;
+
+    @Schema(description = "Reason the training was not created")
+    private final String message;
+
+    public BatchTrainingResult(int index, Status status, String message) {
+        this.index = index;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.responseBodies;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.util.Set;
@@ -10,11 +11,24 @@ public class GetTrainersResponse {
     @Schema(description = "Set of trainers")
     private final Set<TrainerDTO> trainers;
 
+    @Schema(description = "Cursor for the next page, absent on the last page", nullable = true)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final String after;
+
     public GetTrainersResponse(Set<TrainerDTO> trainers) {
+        this(trainers, null);
+    }
+
+    public GetTrainersResponse(Set<TrainerDTO> trainers, String after) {
         this.trainers = trainers;
+        this.after = after;
     }
 
     public Set<TrainerDTO> getTrainers() {
         return trainers;
     }
+
+    public String getAfter() {
+        return after;
+    }
 }
@@ -31,6 +31,14 @@ public class TraineeDTO {
         this.active = trainee.isActive();
     }
 
+    public TraineeDTO(String firstName, String lastName, LocalDate dateOfBirth, String address, boolean active) {
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.dateOfBirth = dateOfBirth;
+        this.address = address;
+        this.active = active;
+    }
+
     public String getFirstName() { return firstName; }
     public String getLastName() { return lastName; }
     public LocalDate getDateOfBirth() { return dateOfBirth; }
@@ -25,6 +25,13 @@ public class TrainerDTO {
         this.specialization = trainer.getSpecialization();
     }
 
+    public TrainerDTO(String username, String firstName, String lastName, String specialization) {
+        this.username = username;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.specialization = specialization;
+    }
+
     public String getUsername() { return username; }
     public String getFirstName() { return firstName; }
     public String getLastName() { return lastName; }
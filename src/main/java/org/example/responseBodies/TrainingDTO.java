@@ -32,12 +32,23 @@ public class TrainingDTO {
     public TrainingDTO(Training tr) {
         this.trainingName = tr.getTrainingName();
         this.trainingDate = tr.getTrainingDate();
-        this.trainingType = tr.getTrainingType();
+        // copied so a lazy proxy never reaches the serializer
+        this.trainingType = new TrainingType(tr.getTrainingType().getTrainingTypeName());
         this.trainingDuration = tr.getTrainingDuration();
         this.trainerName = tr.getTrainer().getUsername();
         this.traineeName = tr.getTrainee().getUsername();
     }
 
+    public TrainingDTO(String trainingName, LocalDate trainingDate, String trainingTypeName, Integer trainingDuration,
+                       String trainerName, String traineeName) {
+        this.trainingName = trainingName;
+        this.trainingDate = trainingDate;
+        this.trainingType = new TrainingType(trainingTypeName);
+        this.trainingDuration = trainingDuration;
+        this.trainerName = trainerName;
+        this.traineeName = traineeName;
+    }
+
     public String getTrainingName() { return trainingName; }
     public LocalDate getTrainingDate() { return trainingDate; }
     public TrainingType getTrainingType() { return trainingType; }
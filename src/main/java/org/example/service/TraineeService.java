@@ -1,9 +1,10 @@
 package org.example.service;
 
 import org.example.model.Trainee;
-import org.example.model.Trainer;
-import org.example.model.Training;
 import org.example.model.User;
+import org.example.responseBodies.GetTrainersResponse;
+import org.example.responseBodies.TraineeWithTrainersDTO;
+import org.example.responseBodies.TrainingDTO;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,11 +17,14 @@ public interface TraineeService {
     void delete(Long Id);
 
     Optional<Trainee> selectByUserName(String username);
+
+    Optional<Long> getVersion(String username);
     void changePassword(String password, String newPassword);
     void deleteByUserName(String username);
     void activate(Long id, boolean activate);
 
-    List<Training> getTrainings(String username, String TrainerName, LocalDate from, LocalDate to);
-    List<Trainer> getUnsignedTrainers(String userName);
+    Optional<TraineeWithTrainersDTO> getProfileView(String username);
+    List<TrainingDTO> getTrainingViews(String username, String trainerName, LocalDate from, LocalDate to);
+    GetTrainersResponse getUnsignedTrainerViews(String userName, String after, Integer limit);
 
 }
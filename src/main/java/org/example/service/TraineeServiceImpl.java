@@ -1,20 +1,29 @@
 package org.example.service;
 
 
-import org.example.Dao.GenericDao;
+import org.example.Dao.ReadModelDao;
+import org.example.Dao.UserDao;
+import org.example.authorization.JwtService;
+import org.example.cache.ExpiringCache;
 import org.example.model.Trainee;
 import org.example.model.Trainer;
-import org.example.model.Training;
 import org.example.model.User;
+import org.example.model.UserCredentials;
+import org.example.responseBodies.GetTrainersResponse;
+import org.example.responseBodies.TraineeWithTrainersDTO;
+import org.example.responseBodies.TrainerDTO;
+import org.example.responseBodies.TrainingDTO;
 import org.example.util.PasswordGenerator;
 import org.example.util.UserNameCalculator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -24,22 +33,37 @@ public class TraineeServiceImpl implements TraineeService {
 
     private static final Logger logger = LoggerFactory.getLogger(TraineeServiceImpl.class);
 
-    private final GenericDao<Trainee> traineeDao;
-    private final GenericDao<Trainer> trainerDao;
-    private final GenericDao<Training> trainingDao;
+    private static final int MAX_UNSIGNED_TRAINERS = 100;
+
+    private final UserDao<Trainee> traineeDao;
+    private final UserDao<Trainer> trainerDao;
+    private final ReadModelDao readModelDao;
     private final UserNameCalculator userNameCalculator;
     private final PasswordGenerator passwordGenerator;
+    private final PasswordEncoder passwordEncoder;
+    private final ExpiringCache<String, Long> traineeIdCache;
+    private final ExpiringCache<String, UserCredentials> credentialsCache;
+    private final JwtService jwtService;
 
     @Autowired
-    public TraineeServiceImpl(GenericDao<Trainee> traineeDao,
+    public TraineeServiceImpl(UserDao<Trainee> traineeDao,
                               UserNameCalculator userNameCalculator,
-                              GenericDao<Trainer> trainerDao, GenericDao<Training> trainingDao,
-                              PasswordGenerator passwordGenerator) {
+                              UserDao<Trainer> trainerDao,
+                              ReadModelDao readModelDao,
+                              PasswordGenerator passwordGenerator,
+                              PasswordEncoder passwordEncoder,
+                              @Qualifier("traineeIdCache") ExpiringCache<String, Long> traineeIdCache,
+                              @Qualifier("credentialsCache") ExpiringCache<String, UserCredentials> credentialsCache,
+                              JwtService jwtService) {
         this.traineeDao = traineeDao;
         this.userNameCalculator = userNameCalculator;
-        this.trainingDao = trainingDao;
+        this.readModelDao = readModelDao;
         this.passwordGenerator = passwordGenerator;
+        this.passwordEncoder = passwordEncoder;
         this.trainerDao = trainerDao;
+        this.traineeIdCache = traineeIdCache;
+        this.credentialsCache = credentialsCache;
+        this.jwtService = jwtService;
     }
 
     @Override
@@ -48,9 +72,10 @@ public class TraineeServiceImpl implements TraineeService {
         String userName = userNameCalculator.getUserName(user.getFirstName(), user.getLastName());
         String password = passwordGenerator.generateRandomPassword();
 
-        Trainee trainee = new Trainee(user.getFirstName(), user.getLastName(), userName, password,
+        Trainee trainee = new Trainee(user.getFirstName(), user.getLastName(), userName, passwordEncoder.encode(password),
                 user.isActive(), date, address);
 
+        trainee.setInitialPassword(password);
         return traineeDao.create(trainee);
 
     }
@@ -62,26 +87,51 @@ public class TraineeServiceImpl implements TraineeService {
 
     @Override
     public void update(Trainee trainee) {
+        traineeIdCache.invalidateValue(trainee.getUserId());
+        credentialsCache.invalidateUntilCompletion(trainee.getUsername());
         traineeDao.update(trainee);
+        trainerDao.incrementVersionsLinkedTo(trainee.getUserId());
     }
 
     @Override
     public void delete(Long Id) {
+        traineeIdCache.invalidateValue(Id);
+        traineeDao.select(Id).ifPresent(trainee -> {
+            credentialsCache.invalidateUntilCompletion(trainee.getUsername());
+            jwtService.revoke(trainee.getPassword());
+        });
+        trainerDao.incrementVersionsLinkedTo(Id);
         traineeDao.delete(Id);
         logger.info("Deleted Trainee with ID: {}", Id);
     }
 
     @Override
     public Optional<Trainee> selectByUserName(String username) {
+        Optional<Long> cachedId = traineeIdCache.get(username);
+        if (cachedId.isPresent()) {
+            Optional<Trainee> trainee = traineeDao.select(cachedId.get());
+            if (trainee.isPresent() && Objects.equals(trainee.get().getUsername(), username))
+                return trainee;
+
+            traineeIdCache.invalidate(username);
+        }
+
         List<Trainee> sol = traineeDao.findByField("username", username);
 
         if (sol.isEmpty())
             return Optional.empty();
 
-        return Optional.ofNullable(sol.get(0));
+        Trainee trainee = sol.get(0);
+        traineeIdCache.put(username, trainee.getUserId());
+        return Optional.of(trainee);
 
     }
 
+    @Override
+    public Optional<Long> getVersion(String username) {
+        return traineeDao.findVersionByUserName(username);
+    }
+
     @Override
     public void changePassword(String username, String newPassword) {
         Optional<Trainee> traineeOpt = selectByUserName(username);
@@ -91,7 +141,10 @@ public class TraineeServiceImpl implements TraineeService {
         }
 
         Trainee trainee = traineeOpt.get();
-        trainee.setPassword(newPassword);
+        jwtService.revoke(trainee.getPassword());
+        trainee.setPassword(passwordEncoder.encode(newPassword));
+        traineeIdCache.invalidate(username);
+        credentialsCache.invalidateUntilCompletion(username);
         traineeDao.update(trainee);
 
         logger.info("Password updated successfully for trainee with username={}", username);
@@ -104,6 +157,10 @@ public class TraineeServiceImpl implements TraineeService {
             return;
         }
 
+        traineeIdCache.invalidate(username);
+        credentialsCache.invalidateUntilCompletion(username);
+        jwtService.revoke(traineeOpt.get().getPassword());
+        trainerDao.incrementVersionsLinkedTo(traineeOpt.get().getUserId());
         traineeDao.delete(traineeOpt.get().getUserId());
         logger.info("Trainee deleted successfully: username={}", username);
     }
@@ -117,79 +174,45 @@ public class TraineeServiceImpl implements TraineeService {
 
         Trainee trainee = traineeOpt.get();
         trainee.setActive(activate);
+        traineeIdCache.invalidate(trainee.getUsername());
+        credentialsCache.invalidateUntilCompletion(trainee.getUsername());
         traineeDao.update(trainee);
+        trainerDao.incrementVersionsLinkedTo(id);
 
         logger.info("Trainee with id={} set active={}", id, activate);
     }
 
-
-    public List<Training> getTrainings(String username, String trainerName, LocalDate from, LocalDate to) {
-        Optional<Trainee> traineeOpt = selectByUserName(username);
-        if (traineeOpt.isEmpty()) {
-            logger.warn("No trainings found, trainee with username={} not found", username);
-            return List.of();
-        }
-
-        Trainee trainee = traineeOpt.get();
-
-        List<Training> returnTrainings = new ArrayList<>();
-
-        for(Training training: trainee.getTrainings()){
-
-
-            Optional<Trainer> trainerOp = trainerDao.select(training.getTrainer().getUserId());
-            assert(trainerOp.isPresent());
-            Trainer trainer = trainerOp.get();
-
-            if(!Objects.equals(trainer.getUsername(), trainerName))
-                continue;
-
-            if(!(isWithinRange(training.getTrainingDate(), from, to)))
-                continue;
-
-            returnTrainings.add(training);
-
-        }
-
-        return returnTrainings;
-
+    @Override
+    public Optional<TraineeWithTrainersDTO> getProfileView(String username) {
+        return readModelDao.findTraineeProfile(username);
     }
 
     @Override
-    public List<Trainer> getUnsignedTrainers(String traineeUsername) {
+    public List<TrainingDTO> getTrainingViews(String username, String trainerName, LocalDate from, LocalDate to) {
+        return readModelDao.findTraineeTrainings(username, trainerName, from, to);
+    }
 
-        Optional<Trainee> traineeOpt = selectByUserName(traineeUsername);
-        if (traineeOpt.isEmpty()) {
-            logger.warn("Trainee with username={} not found", traineeUsername);
-            return List.of();
-        }
+    @Override
+    public GetTrainersResponse getUnsignedTrainerViews(String traineeUsername, String after, Integer limit) {
+        int pageSize = unsignedTrainersPageSize(limit);
 
-        Trainee trainee = traineeOpt.get();
+        // one extra row tells whether a next page exists without a count query
+        List<TrainerDTO> unsignedTrainers = readModelDao.findUnassignedTrainers(traineeUsername, after, pageSize + 1);
+        boolean hasNext = unsignedTrainers.size() > pageSize;
+        List<TrainerDTO> page = hasNext ? unsignedTrainers.subList(0, pageSize) : unsignedTrainers;
 
-        List<Long> assignedTrainerIds = trainee.getTrainings().stream()
-                .map(training -> training.getTrainer().getUserId())
-                .toList();
-
-        String query;
-        if (assignedTrainerIds.isEmpty()) {
-            query = "SELECT * FROM trainers";
-        } else {
-            String ids = assignedTrainerIds.stream()
-                    .map(String::valueOf)
-                    .reduce((a, b) -> a + "," + b)
-                    .orElse("");
-            query = "SELECT * FROM trainers WHERE user_id NOT IN (" + ids + ")";
+        if (logger.isDebugEnabled()) {
+            logger.debug("Found {} unassigned trainers for trainee={}, hasNext={}", page.size(), traineeUsername, hasNext);
         }
-
-        List<Trainer> unsignedTrainers = trainerDao.runQuery(query);
-
-        logger.info("Found {} unassigned trainers for trainee={}", unsignedTrainers.size(), traineeUsername);
-        return unsignedTrainers;
+        return new GetTrainersResponse(new LinkedHashSet<>(page), hasNext ? page.get(page.size() - 1).getUsername() : null);
     }
 
+    private int unsignedTrainersPageSize(Integer limit) {
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
 
-    private boolean isWithinRange(LocalDate date, LocalDate from, LocalDate to) {
-        return !(date.isBefore(from) || date.isAfter(to));
+        return limit == null ? MAX_UNSIGNED_TRAINERS : Math.min(limit, MAX_UNSIGNED_TRAINERS);
     }
 
 }
@@ -1,8 +1,9 @@
 package org.example.service;
 
 import org.example.model.Trainer;
-import org.example.model.Training;
 import org.example.model.User;
+import org.example.responseBodies.TrainerWithTraineesDTO;
+import org.example.responseBodies.TrainingDTO;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,11 +15,14 @@ public interface TrainerService {
     void update(Trainer trainer);
 
     Optional<Trainer> selectByUserName(String username);
+
+    Optional<Long> getVersion(String username);
     void changePassword(String password, String newPassword);
     void deleteByUserName(String username);
     void activate(Long id, boolean activate);
 
-    List<Training> getTrainings(String username, String TraineeName, LocalDate from, LocalDate to);
+    Optional<TrainerWithTraineesDTO> getProfileView(String username);
+    List<TrainingDTO> getTrainingViews(String username, String traineeName, LocalDate from, LocalDate to);
 
 
 }
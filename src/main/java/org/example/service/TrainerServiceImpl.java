@@ -1,21 +1,27 @@
 package org.example.service;
 
 
-import org.example.Dao.GenericDao;
+import org.example.Dao.ReadModelDao;
+import org.example.Dao.UserDao;
+import org.example.authorization.JwtService;
+import org.example.cache.ExpiringCache;
 import org.example.model.Trainee;
 import org.example.model.Trainer;
-import org.example.model.Training;
 import org.example.model.User;
+import org.example.model.UserCredentials;
+import org.example.responseBodies.TrainerWithTraineesDTO;
+import org.example.responseBodies.TrainingDTO;
 import org.example.util.PasswordGenerator;
 import org.example.util.UserNameCalculator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -25,21 +31,36 @@ public class TrainerServiceImpl implements TrainerService {
 
     private static final Logger logger = LoggerFactory.getLogger(TrainerServiceImpl.class);
 
-    private final GenericDao<Trainer> trainerDao;
-    private final GenericDao<Trainee> traineeDao;
+    private final UserDao<Trainer> trainerDao;
+    private final UserDao<Trainee> traineeDao;
+    private final ReadModelDao readModelDao;
     private final UserNameCalculator userNameCalculator;
     private final PasswordGenerator passwordGenerator;
+    private final PasswordEncoder passwordEncoder;
+    private final ExpiringCache<String, Long> trainerIdCache;
+    private final ExpiringCache<String, UserCredentials> credentialsCache;
+    private final JwtService jwtService;
 
 
     @Autowired
-    public TrainerServiceImpl(GenericDao<Trainer> trainerDao,
-                              GenericDao<Trainee> traineeDao,
+    public TrainerServiceImpl(UserDao<Trainer> trainerDao,
+                              UserDao<Trainee> traineeDao,
+                              ReadModelDao readModelDao,
                               UserNameCalculator userNameCalculator,
-                              PasswordGenerator passwordGenerator) {
+                              PasswordGenerator passwordGenerator,
+                              PasswordEncoder passwordEncoder,
+                              @Qualifier("trainerIdCache") ExpiringCache<String, Long> trainerIdCache,
+                              @Qualifier("credentialsCache") ExpiringCache<String, UserCredentials> credentialsCache,
+                              JwtService jwtService) {
         this.trainerDao = trainerDao;
         this.traineeDao = traineeDao;
+        this.readModelDao = readModelDao;
         this.userNameCalculator = userNameCalculator;
         this.passwordGenerator = passwordGenerator;
+        this.passwordEncoder = passwordEncoder;
+        this.trainerIdCache = trainerIdCache;
+        this.credentialsCache = credentialsCache;
+        this.jwtService = jwtService;
     }
 
 
@@ -50,9 +71,10 @@ public class TrainerServiceImpl implements TrainerService {
         String userName = userNameCalculator.getUserName(user.getFirstName(), user.getLastName());
         String password = passwordGenerator.generateRandomPassword();
 
-        Trainer trainer = new Trainer(user.getFirstName(), user.getLastName(), userName, password,
+        Trainer trainer = new Trainer(user.getFirstName(), user.getLastName(), userName, passwordEncoder.encode(password),
                 user.isActive(), specialization);
 
+        trainer.setInitialPassword(password);
         return trainerDao.create(trainer);
 
     }
@@ -64,16 +86,35 @@ public class TrainerServiceImpl implements TrainerService {
 
     @Override
     public void update(Trainer trainer) {
+        trainerIdCache.invalidateValue(trainer.getUserId());
+        credentialsCache.invalidateUntilCompletion(trainer.getUsername());
         trainerDao.update(trainer);
+        traineeDao.incrementVersionsLinkedTo(trainer.getUserId());
     }
 
     @Override
     public Optional<Trainer> selectByUserName(String username) {
+        Optional<Long> cachedId = trainerIdCache.get(username);
+        if (cachedId.isPresent()) {
+            Optional<Trainer> trainer = trainerDao.select(cachedId.get());
+            if (trainer.isPresent() && Objects.equals(trainer.get().getUsername(), username))
+                return trainer;
+
+            trainerIdCache.invalidate(username);
+        }
+
         List<Trainer> sol = trainerDao.findByField("username", username);
         if (sol.isEmpty())
             return Optional.empty();
 
-        return Optional.ofNullable(sol.get(0));
+        Trainer trainer = sol.get(0);
+        trainerIdCache.put(username, trainer.getUserId());
+        return Optional.of(trainer);
+    }
+
+    @Override
+    public Optional<Long> getVersion(String username) {
+        return trainerDao.findVersionByUserName(username);
     }
 
     @Override
@@ -85,7 +126,10 @@ public class TrainerServiceImpl implements TrainerService {
         }
 
         Trainer trainer = trainerOpt.get();
-        trainer.setPassword(newPassword);
+        jwtService.revoke(trainer.getPassword());
+        trainer.setPassword(passwordEncoder.encode(newPassword));
+        trainerIdCache.invalidate(username);
+        credentialsCache.invalidateUntilCompletion(username);
         trainerDao.update(trainer);
 
         logger.info("Password updated successfully for trainer with username={}", username);
@@ -99,6 +143,10 @@ public class TrainerServiceImpl implements TrainerService {
             return;
         }
 
+        trainerIdCache.invalidate(username);
+        credentialsCache.invalidateUntilCompletion(username);
+        jwtService.revoke(trainerOpt.get().getPassword());
+        traineeDao.incrementVersionsLinkedTo(trainerOpt.get().getUserId());
         trainerDao.delete(trainerOpt.get().getUserId());
         logger.info("Trainer deleted successfully: username={}", username);
     }
@@ -113,42 +161,21 @@ public class TrainerServiceImpl implements TrainerService {
 
         Trainer trainer = trainerOpt.get();
         trainer.setActive(activate);
+        trainerIdCache.invalidate(trainer.getUsername());
+        credentialsCache.invalidateUntilCompletion(trainer.getUsername());
         trainerDao.update(trainer);
+        traineeDao.incrementVersionsLinkedTo(id);
 
         logger.info("Trainer with id={} set active={}", id, activate);
     }
 
     @Override
-    public List<Training> getTrainings(String username, String traineeName, LocalDate from, LocalDate to) {
-        Optional<Trainer> trainerOpt = selectByUserName(username);
-        if (trainerOpt.isEmpty()) {
-            logger.warn("No trainings found, trainer with username={} not found", username);
-            return List.of();
-        }
-
-        Trainer trainer = trainerOpt.get();
-        List<Training> returnTrainings = new ArrayList<>();
-
-        for (Training training : trainer.getTrainings()) {
-            Optional<Trainee> traineeOp = traineeDao.select(training.getTrainee().getUserId());
-            if (traineeOp.isEmpty()) continue;
-
-            Trainee trainee = traineeOp.get();
-
-            if (!Objects.equals(trainee.getUsername(), traineeName))
-                continue;
-
-            if (!(isWithinRange(training.getTrainingDate(), from, to)))
-                continue;
-
-            returnTrainings.add(training);
-        }
-
-        return returnTrainings;
+    public Optional<TrainerWithTraineesDTO> getProfileView(String username) {
+        return readModelDao.findTrainerProfile(username);
     }
 
-    private boolean isWithinRange(LocalDate date, LocalDate from, LocalDate to) {
-        return !(date.isBefore(from) || date.isAfter(to));
+    @Override
+    public List<TrainingDTO> getTrainingViews(String username, String traineeName, LocalDate from, LocalDate to) {
+        return readModelDao.findTrainerTrainings(username, traineeName, from, to);
     }
-
 }
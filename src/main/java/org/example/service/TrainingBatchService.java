@@ -0,0 +1,12 @@
+package org.example.service;
+
+import org.example.requestBodies.TrainingRequest;
+import org.example.responseBodies.BatchTrainingResponse;
+
+import java.util.List;
+
+public interface TrainingBatchService {
+
+    BatchTrainingResponse create(List<TrainingRequest> trainings, String trainerUsername);
+
+}
@@ -0,0 +1,195 @@
+package org.example.service;
+
+import org.example.Dao.TrainingBatchDao;
+import org.example.Dao.TrainingBatchDao.NaturalKey;
+import org.example.Dao.TrainingBatchDao.PendingTraining;
+import org.example.cache.TrainingTypeRegistry;
+import org.example.model.TrainingType;
+import org.example.requestBodies.TrainingRequest;
+import org.example.responseBodies.BatchTrainingResponse;
+import org.example.responseBodies.BatchTrainingResult;
+import org.example.responseBodies.BatchTrainingResult.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+@Service
+public class TrainingBatchServiceImpl implements TrainingBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrainingBatchServiceImpl.class);
+
+    private final TrainingBatchDao trainingBatchDao;
+    private final TrainingTypeRegistry trainingTypeRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxSize;
+
+    @Autowired
+    public TrainingBatchServiceImpl(TrainingBatchDao trainingBatchDao, TrainingTypeRegistry trainingTypeRegistry,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${storage.batch.chunk-size:${storage.batch-size:500}}") int chunkSize,
+                                    @Value("${storage.batch.max-trainings:10000}") int maxSize) {
+        this.trainingBatchDao = trainingBatchDao;
+        this.trainingTypeRegistry = trainingTypeRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public BatchTrainingResponse create(List<TrainingRequest> trainings, String trainerUsername) {
+        if (trainings == null || trainings.isEmpty())
+            throw new IllegalArgumentException("trainings must not be empty");
+        if (trainings.size() > maxSize)
+            throw new IllegalArgumentException("A batch may contain at most " + maxSize + " trainings");
+
+        BatchTrainingResult[] results = new BatchTrainingResult[trainings.size()];
+        Set<String> traineeNames = new HashSet<>();
+        Set<String> trainerNames = new HashSet<>();
+
+        for (int i = 0; i < trainings.size(); i++) {
+            TrainingRequest training = trainings.get(i);
+            String invalid = validate(training);
+
+            if (invalid != null) {
+                results[i] = new BatchTrainingResult(i, Status.INVALID, invalid);
+            } else if (!training.getTrainerUsername().equals(trainerUsername)) {
+                results[i] = new BatchTrainingResult(i, Status.FORBIDDEN, "You can only add trainings as yourself");
+            } else {
+                traineeNames.add(training.getTraineeUsername());
+                trainerNames.add(training.getTrainerUsername());
+            }
+        }
+
+        Map<String, Long> traineeIds = traineeNames.isEmpty() ? Map.of() : trainingBatchDao.findTraineeIds(traineeNames);
+        Map<String, Long> trainerIds = trainerNames.isEmpty() ? Map.of() : trainingBatchDao.findTrainerIds(trainerNames);
+
+        List<Integer> indexes = new ArrayList<>();
+        List<PendingTraining> pending = new ArrayList<>();
+        LocalDate from = LocalDate.MAX;
+        LocalDate to = LocalDate.MIN;
+
+        for (int i = 0; i < trainings.size(); i++) {
+            if (results[i] != null)
+                continue;
+
+            TrainingRequest training = trainings.get(i);
+            Long traineeId = traineeIds.get(training.getTraineeUsername());
+            Long trainerId = trainerIds.get(training.getTrainerUsername());
+
+            if (traineeId == null) {
+                results[i] = new BatchTrainingResult(i, Status.NOT_FOUND, "Trainee not found");
+            } else if (trainerId == null) {
+                results[i] = new BatchTrainingResult(i, Status.NOT_FOUND, "Trainer not found");
+            } else {
+                indexes.add(i);
+                pending.add(new PendingTraining(traineeId, trainerId, training.getTrainingName(),
+                        training.getTrainingDate(), training.getDuration()));
+                from = min(from, training.getTrainingDate());
+                to = max(to, training.getTrainingDate());
+            }
+        }
+
+        // one range query covers every stored key the batch could collide with, repeats inside the batch land in the same set
+        Set<NaturalKey> taken = pending.isEmpty() ? new HashSet<>()
+                : new HashSet<>(trainingBatchDao.findExistingKeys(new HashSet<>(traineeIds.values()), from, to));
+
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<PendingTraining> accepted = new ArrayList<>();
+        Set<String> missingTypes = new TreeSet<>();
+
+        for (int j = 0; j < pending.size(); j++) {
+            PendingTraining training = pending.get(j);
+            int i = indexes.get(j);
+
+            if (!taken.add(training.key())) {
+                results[i] = new BatchTrainingResult(i, Status.DUPLICATE,
+                        "Trainee already has a training with this trainer on " + training.date());
+                continue;
+            }
+
+            acceptedIndexes.add(i);
+            accepted.add(training);
+            if (trainingTypeRegistry.find(training.trainingName()).isEmpty())
+                missingTypes.add(training.trainingName());
+        }
+
+        if (!missingTypes.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                trainingBatchDao.createTrainingTypes(missingTypes);
+                missingTypes.forEach(name -> trainingTypeRegistry.register(new TrainingType(name)));
+            });
+        }
+
+        for (int start = 0; start < accepted.size(); start += chunkSize) {
+            int end = Math.min(start + chunkSize, accepted.size());
+            List<PendingTraining> chunk = accepted.subList(start, end);
+            Status status;
+            String message;
+
+            try {
+                transactionTemplate.executeWithoutResult(tx -> trainingBatchDao.insert(chunk));
+                status = Status.CREATED;
+                message = null;
+            } catch (RuntimeException e) {
+                // the chunk rolled back on its own, earlier chunks stay committed and later ones still run
+                String cause = e instanceof DataAccessException dataAccess ? dataAccess.getMostSpecificCause().getMessage() : e.toString();
+                logger.warn("Training batch chunk of {} failed: {}", chunk.size(), cause);
+                status = Status.FAILED;
+                message = "Training could not be stored, retry it in a later batch";
+            }
+
+            for (int j = start; j < end; j++) {
+                int i = acceptedIndexes.get(j);
+                results[i] = new BatchTrainingResult(i, status, message);
+            }
+        }
+
+        BatchTrainingResponse response = new BatchTrainingResponse(Arrays.asList(results));
+        logger.info("Training batch processed: size={}, created={}, rejected={}",
+                trainings.size(), response.getCreated(), response.getRejected());
+        return response;
+    }
+
+    private String validate(TrainingRequest training) {
+        if (training == null)
+            return "Training must not be null";
+        if (isBlank(training.getTraineeUsername()))
+            return "traineeUsername must not be blank";
+        if (isBlank(training.getTrainerUsername()))
+            return "trainerUsername must not be blank";
+        if (isBlank(training.getTrainingName()))
+            return "trainingName must not be blank";
+        if (training.getTrainingDate() == null)
+            return "trainingDate must not be null";
+        if (training.getDuration() < 0)
+            return "duration must not be negative";
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
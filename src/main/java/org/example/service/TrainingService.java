@@ -2,12 +2,19 @@ package org.example.service;
 
 import org.example.model.Trainer;
 import org.example.model.Training;
+import org.example.responseBodies.TrainingDTO;
 
+import java.time.LocalDate;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TrainingService {
     Training create(Training training);
 
     Optional<Training> select(Long trainingId);
 
+    Optional<Training> select(Long traineeId, Long trainerId, LocalDate date);
+
+    long export(LocalDate from, LocalDate to, String trainingType, Consumer<TrainingDTO> sink);
+
 }
\ No newline at end of file
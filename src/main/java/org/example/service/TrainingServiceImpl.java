@@ -1,26 +1,49 @@
 package org.example.service;
 
-import org.example.Dao.GenericDao;
+import org.example.Dao.ReadModelDao;
+import org.example.Dao.TrainingDao;
+import org.example.Dao.UserDao;
+import org.example.model.Trainee;
 import org.example.model.Trainer;
 import org.example.model.Training;
+import org.example.responseBodies.TrainingDTO;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class TrainingServiceImpl implements TrainingService {
 
-    private final GenericDao<Training> trainingDao;
+    private final TrainingDao trainingDao;
+    private final UserDao<Trainee> traineeDao;
+    private final UserDao<Trainer> trainerDao;
+    private final ReadModelDao readModelDao;
 
     @Autowired
-    public TrainingServiceImpl(GenericDao<Training> trainingDao, GenericDao<Trainer> trainerDao) {
+    public TrainingServiceImpl(TrainingDao trainingDao, UserDao<Trainee> traineeDao, UserDao<Trainer> trainerDao,
+                               ReadModelDao readModelDao) {
         this.trainingDao = trainingDao;
+        this.traineeDao = traineeDao;
+        this.trainerDao = trainerDao;
+        this.readModelDao = readModelDao;
     }
 
     @Override
     public Training create(Training training) {
-        return trainingDao.create(training);
+        Long traineeId = training.getTrainee().getUserId();
+        Long trainerId = training.getTrainer().getUserId();
+
+        if (trainingDao.findByNaturalKey(traineeId, trainerId, training.getTrainingDate()).isPresent())
+            throw new DuplicateKeyException("Trainee already has a training with this trainer on " + training.getTrainingDate());
+
+        Training created = trainingDao.create(training);
+        traineeDao.incrementVersion(traineeId);
+        trainerDao.incrementVersion(trainerId);
+        return created;
     }
 
     @Override
@@ -28,4 +51,17 @@ public class TrainingServiceImpl implements TrainingService {
         return trainingDao.select(trainingId);
     }
 
+    @Override
+    public Optional<Training> select(Long traineeId, Long trainerId, LocalDate date) {
+        return trainingDao.findByNaturalKey(traineeId, trainerId, date);
+    }
+
+    @Override
+    public long export(LocalDate from, LocalDate to, String trainingType, Consumer<TrainingDTO> sink) {
+        if (from != null && to != null && from.isAfter(to))
+            throw new IllegalArgumentException("periodFrom must not be after periodTo");
+
+        return readModelDao.exportTrainings(from, to, trainingType, sink);
+    }
+
 }
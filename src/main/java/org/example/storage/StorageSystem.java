@@ -1,6 +1,7 @@
 package org.example.storage;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface StorageSystem <T> {
@@ -8,11 +9,20 @@ public interface StorageSystem <T> {
     Optional<T> findById(Long id);
 
     List<T> findByField(String field, String value);
+    List<String> findValuesStartingWith(String field, String prefix);
+    Optional<Long> findVersionByField(String field, String value);
     List<T> runQuery(String query);
+    List<T> findByQuery(String query, Map<String, Object> parameters);
+    List<T> findByQuery(String query, Map<String, Object> parameters, int maxResults);
+    <R> List<R> findByQuery(String query, Class<R> resultType, Map<String, Object> parameters);
+    <R> List<R> findByQuery(String query, Class<R> resultType, Map<String, Object> parameters, int maxResults);
 
     T put(T entity);
     void delete(Long id);
 
     void update(T entity);
 
+    void incrementVersion(Long id);
+    int incrementVersions(String idQuery, Map<String, Object> parameters);
+
 }
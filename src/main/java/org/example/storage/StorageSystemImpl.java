@@ -1,11 +1,18 @@
 package org.example.storage;
 
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.persistence.*;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
 import jakarta.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class StorageSystemImpl<T> implements StorageSystem<T> {
@@ -16,54 +23,209 @@ public class StorageSystemImpl<T> implements StorageSystem<T> {
     private final Class<T> type;
     private final Logger logger = LoggerFactory.getLogger(StorageSystemImpl.class.getName());
 
+    private Map<String, FieldQuery> fieldQueries = Map.of();
+    private String versionUpdate;
+
     public StorageSystemImpl(Class<T> type) {
         this.type = type;
     }
 
+    @PostConstruct
+    public void registerFieldQueries() {
+        EntityType<T> entity = em.getMetamodel().entity(type);
+        Map<String, FieldQuery> queries = new HashMap<>();
+
+        String version = entity.getSingularAttributes().stream()
+                .filter(SingularAttribute::isVersion)
+                .map(Attribute::getName)
+                .findFirst()
+                .orElse(null);
+
+        for (SingularAttribute<? super T, ?> attribute : entity.getSingularAttributes()) {
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC)
+                continue;
+
+            String query = "select e from " + entity.getName() + " e where e." + attribute.getName() + " = :value";
+            String prefixQuery = "select e." + attribute.getName() + " from " + entity.getName() +
+                    " e where e." + attribute.getName() + " like :prefix escape '!'";
+            String versionQuery = version == null ? null : "select e." + version + " from " + entity.getName() +
+                    " e where e." + attribute.getName() + " = :value";
+            queries.put(attribute.getName(), new FieldQuery(query, prefixQuery, versionQuery, attribute.getJavaType()));
+        }
+
+        fieldQueries = Map.copyOf(queries);
+
+        String id = entity.getSingularAttributes().stream()
+                .filter(SingularAttribute::isId)
+                .map(Attribute::getName)
+                .findFirst()
+                .orElse(null);
+        if (version != null && id != null) {
+            versionUpdate = "update " + entity.getName() + " e set e." + version + " = e." + version +
+                    " + 1 where e." + id + " in ";
+        }
+        logger.info("{} field queries registered: {}", entity.getName(), fieldQueries.keySet());
+    }
+
     @Override
     public Optional<T> findById(Long id) {
         return Optional.ofNullable(em.find(type, id));
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public List<T> findByField(String field, String value) {
-        Table table = type.getAnnotation(Table.class);
-        String tableName = (table != null && !table.name().isEmpty())
-                ? table.name()
-                : type.getSimpleName();
-
-        String query = "select * from " + tableName + " where " + field + " = :value";
-        List<T> results = (List<T>) em.createNativeQuery(query, type)
-                .setParameter("value", value)
+        FieldQuery fieldQuery = fieldQueries.get(field);
+        if (fieldQuery == null) {
+            throw new IllegalArgumentException("Unknown field '" + field + "' for " + type.getSimpleName());
+        }
+
+        List<T> results = em.createQuery(fieldQuery.query(), type)
+                .setParameter("value", fieldQuery.convert(value))
+                .getResultList();
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} findByField: field={}, value={}, found={}", type.getSimpleName(), field, value, results.size());
+        }
+        return results;
+    }
+
+    @Override
+    public List<String> findValuesStartingWith(String field, String prefix) {
+        FieldQuery fieldQuery = fieldQueries.get(field);
+        if (fieldQuery == null || fieldQuery.javaType() != String.class) {
+            throw new IllegalArgumentException("Unknown text field '" + field + "' for " + type.getSimpleName());
+        }
+
+        String pattern = prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        List<String> results = em.createQuery(fieldQuery.prefixQuery(), String.class)
+                .setParameter("prefix", pattern)
                 .getResultList();
 
-        logger.info("{} findByField: field={}, value={}, found={}", type.getSimpleName(), field, value, results.size());
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} findValuesStartingWith: field={}, prefix={}, found={}", type.getSimpleName(), field, prefix, results.size());
+        }
         return results;
     }
 
+    @Override
+    public Optional<Long> findVersionByField(String field, String value) {
+        FieldQuery fieldQuery = fieldQueries.get(field);
+        if (fieldQuery == null || fieldQuery.versionQuery() == null) {
+            throw new IllegalArgumentException("Unknown field '" + field + "' or unversioned " + type.getSimpleName());
+        }
+
+        Optional<Long> version = em.createQuery(fieldQuery.versionQuery(), Long.class)
+                .setParameter("value", fieldQuery.convert(value))
+                .getResultList()
+                .stream()
+                .findFirst();
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} findVersionByField: field={}, value={}, version={}", type.getSimpleName(), field, value, version.orElse(null));
+        }
+        return version;
+    }
+
     public List<T> runQuery(String query){
         List<T> results = (List<T>) em.createNativeQuery(query, type).getResultList();
-        logger.info("ran query");
+        logger.debug("{} native query: found={}", type.getSimpleName(), results.size());
+        return results;
+    }
+
+    @Override
+    public List<T> findByQuery(String query, Map<String, Object> parameters) {
+        TypedQuery<T> typedQuery = em.createQuery(query, type);
+        parameters.forEach(typedQuery::setParameter);
+
+        List<T> results = typedQuery.getResultList();
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} findByQuery: parameters={}, found={}", type.getSimpleName(), parameters.keySet(), results.size());
+        }
+        return results;
+    }
+
+    @Override
+    public List<T> findByQuery(String query, Map<String, Object> parameters, int maxResults) {
+        TypedQuery<T> typedQuery = em.createQuery(query, type).setMaxResults(maxResults);
+        parameters.forEach(typedQuery::setParameter);
+
+        List<T> results = typedQuery.getResultList();
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} findByQuery: parameters={}, maxResults={}, found={}", type.getSimpleName(), parameters.keySet(), maxResults, results.size());
+        }
+        return results;
+    }
+
+    @Override
+    public <R> List<R> findByQuery(String query, Class<R> resultType, Map<String, Object> parameters) {
+        TypedQuery<R> typedQuery = em.createQuery(query, resultType);
+        parameters.forEach(typedQuery::setParameter);
+
+        List<R> results = typedQuery.getResultList();
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} findByQuery: result={}, parameters={}, found={}", type.getSimpleName(), resultType.getSimpleName(), parameters.keySet(), results.size());
+        }
+        return results;
+    }
+
+    @Override
+    public <R> List<R> findByQuery(String query, Class<R> resultType, Map<String, Object> parameters, int maxResults) {
+        TypedQuery<R> typedQuery = em.createQuery(query, resultType).setMaxResults(maxResults);
+        parameters.forEach(typedQuery::setParameter);
+
+        List<R> results = typedQuery.getResultList();
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} findByQuery: result={}, parameters={}, maxResults={}, found={}", type.getSimpleName(), resultType.getSimpleName(), parameters.keySet(), maxResults, results.size());
+        }
         return results;
     }
 
     @Override
     @Transactional
     public T put(T entity) {
-        em.clear();
         em.persist(entity);
-        logger.info("{} persisted: {}", type.getSimpleName(), entity);
+        logger.debug("{} persisted: {}", type.getSimpleName(), entity);
         return entity;
     }
 
+    @Override
+    @Transactional
+    public void incrementVersion(Long id) {
+        int updated = executeVersionUpdate(":ids", Map.of("ids", List.of(id)));
+        if (updated == 0) {
+            logger.warn("{} version not incremented, entity not found: id={}", type.getSimpleName(), id);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int incrementVersions(String idQuery, Map<String, Object> parameters) {
+        int updated = executeVersionUpdate("(" + idQuery + ")", parameters);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} versions incremented: count={}", type.getSimpleName(), updated);
+        }
+        return updated;
+    }
+
+    // a single bulk update instead of loading and force-locking each entity, so concurrent
+    // writers serialize on the row lock rather than failing the optimistic check at commit
+    private int executeVersionUpdate(String idRestriction, Map<String, Object> parameters) {
+        if (versionUpdate == null) {
+            throw new IllegalStateException(type.getSimpleName() + " has no version attribute");
+        }
+
+        Query query = em.createQuery(versionUpdate + idRestriction);
+        parameters.forEach(query::setParameter);
+        return query.executeUpdate();
+    }
+
     @Override
     @Transactional
     public void delete(Long id) {
         T entity = em.find(type, id);
         if (entity != null) {
             em.remove(entity);
-            logger.info("{} deleted: id={}", type.getSimpleName(), id);
+            logger.debug("{} deleted: id={}", type.getSimpleName(), id);
         } else {
             logger.warn("{} delete failed, entity not found: id={}", type.getSimpleName(), id);
         }
@@ -73,6 +235,24 @@ public class StorageSystemImpl<T> implements StorageSystem<T> {
     @Transactional
     public void update(T entity) {
         em.merge(entity);
-        logger.info("{} updated: {}", type.getSimpleName(), entity);
+        logger.debug("{} updated: {}", type.getSimpleName(), entity);
+    }
+
+    private record FieldQuery(String query, String prefixQuery, String versionQuery, Class<?> javaType) {
+
+        Object convert(String value) {
+            if (value == null || javaType == String.class)
+                return value;
+            if (javaType == Long.class || javaType == long.class)
+                return Long.valueOf(value);
+            if (javaType == Integer.class || javaType == int.class)
+                return Integer.valueOf(value);
+            if (javaType == Boolean.class || javaType == boolean.class)
+                return Boolean.valueOf(value);
+            if (javaType == LocalDate.class)
+                return LocalDate.parse(value);
+
+            throw new IllegalArgumentException("Field of type " + javaType.getSimpleName() + " cannot be queried by value");
+        }
     }
 }
@@ -0,0 +1,309 @@
+package org.example.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.example.cache.TrainingTypeRegistry;
+import org.example.model.Trainee;
+import org.example.model.Trainer;
+import org.example.model.Training;
+import org.example.model.TrainingType;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class BulkEntityLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkEntityLoader.class);
+
+    private static final Chunk END = new Chunk(null, List.of());
+
+    private final TransactionTemplate transactionTemplate;
+    private final UserNameCalculator userNameCalculator;
+    private final PasswordGenerator passwordGenerator;
+    private final TrainingTypeRegistry trainingTypeRegistry;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @Value("${storage.file}")
+    private String storagePath;
+
+    @Value("${storage.load-on-startup:false}")
+    private boolean loadOnStartup;
+
+    @Value("${storage.batch-size:500}")
+    private int batchSize;
+
+    @Value("${storage.queue-capacity:4}")
+    private int queueCapacity;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    public BulkEntityLoader(PlatformTransactionManager transactionManager,
+                            UserNameCalculator userNameCalculator,
+                            PasswordGenerator passwordGenerator,
+                            TrainingTypeRegistry trainingTypeRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userNameCalculator = userNameCalculator;
+        this.passwordGenerator = passwordGenerator;
+        this.trainingTypeRegistry = trainingTypeRegistry;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() throws IOException {
+        if (loadOnStartup) {
+            load(storagePath);
+        }
+    }
+
+    public long load(String path) throws IOException {
+        if (path == null) {
+            logger.warn("No initial data resource configured");
+            return 0;
+        }
+
+        Resource resource = new DefaultResourceLoader().getResource(path);
+        if (!resource.exists()) {
+            logger.warn("Initial data resource not found: {}", path);
+            return 0;
+        }
+
+        logger.info("Loading initial data from {}, batchSize={}", path, batchSize);
+
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        ExecutorService parser = Executors.newSingleThreadExecutor(virtualThreads
+                ? Thread.ofVirtual().name("bulk-loader-parser").factory()
+                : Thread.ofPlatform().name("bulk-loader-parser").daemon().factory());
+
+        LoadState state = new LoadState();
+        long started = System.nanoTime();
+
+        try (InputStream is = resource.getInputStream()) {
+            Future<?> parsing = parser.submit(() -> {
+                parse(is, queue);
+                return null;
+            });
+
+            for (Chunk chunk = take(queue, parsing); chunk != END; chunk = take(queue, parsing)) {
+                Chunk current = chunk;
+                transactionTemplate.executeWithoutResult(status -> persist(current, state));
+
+                long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+                logger.info("Persisted {} {}, total={}, skipped={}, throughput={} records/s",
+                        current.records().size(), current.section(), state.loaded, state.skipped,
+                        state.loaded * 1000 / elapsedMillis);
+            }
+
+            parsing.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Initial data could not be parsed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Initial data load was interrupted", e);
+        } finally {
+            parser.shutdownNow();
+        }
+
+        logger.info("Initial data loaded: {} records in {} ms, {} skipped",
+                state.loaded, (System.nanoTime() - started) / 1_000_000, state.skipped);
+        return state.loaded;
+    }
+
+    private Chunk take(BlockingQueue<Chunk> queue, Future<?> parsing) throws InterruptedException, ExecutionException {
+        while (true) {
+            Chunk chunk = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (chunk != null)
+                return chunk;
+
+            if (parsing.isDone()) {
+                parsing.get();
+                chunk = queue.poll();
+                return chunk == null ? END : chunk;
+            }
+        }
+    }
+
+    private void parse(InputStream is, BlockingQueue<Chunk> queue) throws IOException, InterruptedException {
+        try (JsonParser parser = mapper.getFactory().createParser(is)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Initial data must be a JSON object");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                Section section = Section.of(parser.currentName());
+                JsonToken value = parser.nextToken();
+
+                if (section == null || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                List<JsonNode> records = new ArrayList<>(batchSize);
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    records.add(mapper.readTree(parser));
+                    if (records.size() == batchSize) {
+                        queue.put(new Chunk(section, records));
+                        records = new ArrayList<>(batchSize);
+                    }
+                }
+
+                if (!records.isEmpty()) {
+                    queue.put(new Chunk(section, records));
+                }
+            }
+        }
+    }
+
+    private void persist(Chunk chunk, LoadState state) {
+        em.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+        for (JsonNode node : chunk.records()) {
+            boolean persisted = switch (chunk.section()) {
+                case TRAINERS -> persistTrainer(node, state);
+                case TRAINEES -> persistTrainee(node, state);
+                case TRAININGS -> persistTraining(node, state);
+            };
+
+            if (persisted) {
+                state.loaded++;
+            } else {
+                state.skipped++;
+            }
+        }
+
+        em.flush();
+        em.clear();
+    }
+
+    private boolean persistTrainer(JsonNode node, LoadState state) {
+        String firstName = node.path("firstName").asText("");
+        String lastName = node.path("lastName").asText("");
+
+        Trainer trainer = new Trainer(firstName, lastName, userName(node, firstName, lastName), password(node),
+                active(node, true), node.path("specialization").asText(""));
+        em.persist(trainer);
+
+        state.trainerIds.put(node.path("userId").asLong(), trainer.getUserId());
+        return true;
+    }
+
+    private boolean persistTrainee(JsonNode node, LoadState state) {
+        String firstName = node.path("firstName").asText("");
+        String lastName = node.path("lastName").asText("");
+        String dateOfBirth = node.path("dateOfBirth").asText(null);
+
+        Trainee trainee = new Trainee(firstName, lastName, userName(node, firstName, lastName), password(node),
+                active(node, false), dateOfBirth == null ? null : LocalDate.parse(dateOfBirth),
+                node.path("address").asText(""));
+        em.persist(trainee);
+
+        state.traineeIds.put(node.path("userId").asLong(), trainee.getUserId());
+        return true;
+    }
+
+    private boolean persistTraining(JsonNode node, LoadState state) {
+        Long traineeId = state.traineeIds.get(node.path("traineeId").asLong());
+        Long trainerId = state.trainerIds.get(node.path("trainerId").asLong());
+
+        // users are resolved by their id in the file, so trainings must come after trainers and trainees
+        if (traineeId == null || trainerId == null) {
+            logger.warn("Skipping training '{}', unknown traineeId={} or trainerId={}",
+                    node.path("trainingName").asText(), node.path("traineeId").asText(), node.path("trainerId").asText());
+            return false;
+        }
+
+        String typeName = node.path("trainingTypeName").asText(
+                node.path("trainingType").path("trainingTypeName").asText(""));
+
+        if (state.trainingTypes.add(typeName) && trainingTypeRegistry.find(typeName).isEmpty()) {
+            TrainingType trainingType = em.find(TrainingType.class, typeName);
+            if (trainingType == null) {
+                trainingType = new TrainingType(typeName);
+                em.persist(trainingType);
+            }
+            trainingTypeRegistry.register(trainingType);
+        }
+
+        em.persist(new Training(
+                em.getReference(Trainee.class, traineeId),
+                em.getReference(Trainer.class, trainerId),
+                node.path("trainingName").asText(""),
+                em.getReference(TrainingType.class, typeName),
+                LocalDate.parse(node.path("trainingDate").asText("1970-01-01")),
+                node.path("trainingDuration").asInt(0)
+        ));
+        return true;
+    }
+
+    private String userName(JsonNode node, String firstName, String lastName) {
+        String username = node.path("username").asText("");
+        return username.isEmpty() ? userNameCalculator.getUserName(firstName, lastName) : username;
+    }
+
+    private String password(JsonNode node) {
+        String password = node.path("password").asText("");
+        return password.isEmpty() ? passwordGenerator.generateRandomPassword() : password;
+    }
+
+    private boolean active(JsonNode node, boolean defaultValue) {
+        return node.path("isActive").asBoolean(node.path("active").asBoolean(defaultValue));
+    }
+
+    private enum Section {
+        TRAINERS, TRAINEES, TRAININGS;
+
+        static Section of(String fieldName) {
+            for (Section section : values()) {
+                if (section.name().equalsIgnoreCase(fieldName))
+                    return section;
+            }
+            return null;
+        }
+    }
+
+    private record Chunk(Section section, List<JsonNode> records) {}
+
+    private static class LoadState {
+        private final Map<Long, Long> trainerIds = new HashMap<>();
+        private final Map<Long, Long> traineeIds = new HashMap<>();
+        private final Set<String> trainingTypes = new HashSet<>();
+        private long loaded;
+        private long skipped;
+    }
+}
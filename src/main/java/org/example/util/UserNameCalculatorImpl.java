@@ -1,19 +1,43 @@
 package org.example.util;
 
-import org.example.Dao.GenericDao;
+import org.example.Dao.UserDao;
 import org.example.model.Trainee;
 import org.example.model.Trainer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 public class UserNameCalculatorImpl implements UserNameCalculator {
 
-    @Autowired
-    private GenericDao<Trainee> traineeDao;
+    private final UserDao<Trainee> traineeDao;
+    private final UserDao<Trainer> trainerDao;
+
+    private static final int LOCK_STRIPES = 64;
+
+    // suffixes handed out to registrations whose transaction has not finished yet
+    private final ConcurrentMap<String, Set<Integer>> reservedUserNumbers = new ConcurrentHashMap<>();
+
+    // the stored maximum and the reservation are read under the same lock: a suffix is either
+    // reserved or committed at any time, so no registration can see it as free in between
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
 
     @Autowired
-    private GenericDao<Trainer> trainerDao;
+    public UserNameCalculatorImpl(UserDao<Trainee> traineeDao, UserDao<Trainer> trainerDao) {
+        this.traineeDao = traineeDao;
+        this.trainerDao = trainerDao;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
 
     public String getUserName(String firstName, String lastName) {
         String userName = firstName + "." + lastName;
@@ -24,18 +48,79 @@ public class UserNameCalculatorImpl implements UserNameCalculator {
         return userName;
     }
 
-    private boolean userNameInDaos(String username) {
-        return !traineeDao.findByField("username", username).isEmpty() ||
-                !trainerDao.findByField("username", username).isEmpty();
+    private int calculateUserNumber(String username) {
+        ReentrantLock lock = locks[Math.floorMod(username.hashCode(), LOCK_STRIPES)];
+        int reserved;
+
+        lock.lock();
+        try {
+            int lastStored = findLastUserNumber(username);
+            Set<Integer> taken = reservedUserNumbers.computeIfAbsent(username, name -> new HashSet<>());
+
+            reserved = lastStored + 1;
+            while (taken.contains(reserved)) {
+                reserved++;
+            }
+            taken.add(reserved);
+        } finally {
+            lock.unlock();
+        }
+
+        releaseAfterCompletion(username, reserved);
+        return reserved;
     }
 
-    private int calculateUserNumber(String username) {
-        int counter = 0;
-        String uniqueName = username;
-        while (userNameInDaos(uniqueName)) {
-            counter++;
-            uniqueName = username + counter;
+    private void releaseAfterCompletion(String username, int number) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(username, number);
+            return;
         }
-        return counter;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                release(username, number);
+            }
+        });
+    }
+
+    private void release(String username, int number) {
+        ReentrantLock lock = locks[Math.floorMod(username.hashCode(), LOCK_STRIPES)];
+
+        lock.lock();
+        try {
+            reservedUserNumbers.computeIfPresent(username, (name, numbers) -> {
+                numbers.remove(number);
+                return numbers.isEmpty() ? null : numbers;
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int findLastUserNumber(String username) {
+        int last = -1;
+        for (List<String> taken : List.of(traineeDao.findUserNamesStartingWith(username),
+                trainerDao.findUserNamesStartingWith(username))) {
+            for (String candidate : taken) {
+                last = Math.max(last, userNumber(candidate.substring(username.length())));
+            }
+        }
+        return last;
+    }
+
+    private int userNumber(String suffix) {
+        if (suffix.isEmpty())
+            return 0;
+
+        if (suffix.length() > 9 || suffix.charAt(0) == '0')
+            return -1;
+
+        for (int i = 0; i < suffix.length(); i++) {
+            if (!Character.isDigit(suffix.charAt(i)))
+                return -1;
+        }
+
+        return Integer.parseInt(suffix);
     }
 }
@@ -1,31 +1,144 @@
 package org.example;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.Dao.TrainingBatchDao;
+import org.example.Dao.TrainingDao;
+import org.example.Dao.UserDao;
+import org.example.cache.ExpiringCache;
+import org.example.facade.GymFacade;
+import org.example.metrics.EndpointLatencyInterceptor;
+import org.example.metrics.EndpointLatencyRecorder;
+import org.example.model.Trainee;
+import org.example.model.UserCredentials;
+import org.example.model.Trainer;
+import org.example.model.Training;
+import org.example.model.TrainingType;
+import org.example.model.User;
 import org.example.requestBodies.CreateTraineeRequest;
+import org.example.requestBodies.CreateTrainerRequest;
+import org.example.requestBodies.LoginRequest;
+import org.example.requestBodies.RefreshTokenRequest;
+import org.example.requestBodies.UpdateTraineeRequest;
+import org.example.responseBodies.TrainingDTO;
+import org.example.storage.StorageSystem;
+import org.example.util.BulkEntityLoader;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
+@ActiveProfiles("test")
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 @Transactional
 class GymApiApplicationTests {
 
 	@Autowired
 	private MockMvc mockMvc;
 
+	@Autowired
+	private BulkEntityLoader bulkEntityLoader;
+
+	@Autowired
+	private GymFacade gymFacade;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private EndpointLatencyRecorder endpointLatencyRecorder;
+
+	@Autowired
+	private EndpointLatencyInterceptor endpointLatencyInterceptor;
+
+	@Autowired
+	private StorageSystem<Trainee> traineeStorage;
+
+	@Autowired
+	private ExpiringCache<String, Long> traineeIdCache;
+
+	@Autowired
+	private ExpiringCache<String, UserCredentials> credentialsCache;
+
+	@MockitoSpyBean
+	private UserDao<Trainee> traineeDao;
+
+	@MockitoSpyBean
+	private TrainingBatchDao trainingBatchDao;
+
+	@MockitoSpyBean
+	private TrainingDao trainingDao;
+
 	private String username;
 	private String password;
 
@@ -53,7 +166,53 @@ class GymApiApplicationTests {
 	}
 
 	private String authHeader() {
-		return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes());
+		return authHeader(username, password);
+	}
+
+	private String authHeader(String user, String pass) {
+		return "Basic " + Base64.getEncoder().encodeToString((user + ":" + pass).getBytes());
+	}
+
+	private String operatorAuthHeader() {
+		return authHeader("operator", "operator-secret");
+	}
+
+	private String[] createTrainer(String firstName, String lastName) throws Exception {
+		String requestJson = new ObjectMapper().writeValueAsString(
+				new CreateTrainerRequest(firstName, lastName, "Yoga"));
+
+		String response = mockMvc.perform(post("/trainers")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(requestJson))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+
+		return new String[] {
+				response.split("\"username\":\"")[1].split("\"")[0],
+				response.split("\"password\":\"")[1].split("\"")[0]
+		};
+	}
+
+	private void addTraining(String[] trainer, String trainingName, String date) throws Exception {
+		addTraining(trainer, trainingName, date, status().isCreated());
+	}
+
+	private void addTraining(String[] trainer, String trainingName, String date, ResultMatcher expected) throws Exception {
+		String trainingJson = String.format("""
+            {
+                "traineeUsername": "%s",
+                "trainerUsername": "%s",
+                "trainingName": "%s",
+                "trainingDate": "%s",
+                "duration": 60
+            }
+            """, username, trainer[0], trainingName, date);
+
+		mockMvc.perform(post("/trainings")
+						.header("Authorization", authHeader(trainer[0], trainer[1]))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(trainingJson))
+				.andExpect(expected);
 	}
 
 	@Test
@@ -106,10 +265,782 @@ class GymApiApplicationTests {
 				.andExpect(jsonPath("$.trainee.firstName").value("FNM"));
 	}
 
+	@Test
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	void basicAuth_outsideTransaction_returns200() throws Exception {
+		// the security filter runs before open-session-in-view, so credentials are read without a transaction
+		try {
+			mockMvc.perform(get("/trainees/{username}", username)
+							.header("Authorization", authHeader()))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.trainee.firstName").value("FNM"));
+
+			mockMvc.perform(get("/trainees/{username}", username)
+							.header("Authorization", authHeader(username, "wrong123")))
+					.andExpect(status().isUnauthorized());
+		} finally {
+			gymFacade.deleteByTraineeUserName(username);
+		}
+	}
+
+	@Test
+	void registration_nextSuffixAcrossUserTablesFromOnePrefixLookup() throws Exception {
+		assertEquals("FNM.LNMX", createTrainer("FNM", "LNMX")[0]);
+		assertEquals("FNM.LNMX1", createTrainer("FNM", "LNMX")[0]);
+
+		// the trainee FNM.LNM from setup is taken into account, FNM.LNMX* are a different base name
+		clearInvocations(traineeDao);
+		assertEquals("FNM.LNM1", createTrainer("FNM", "LNM")[0]);
+		verify(traineeDao, times(1)).findUserNamesStartingWith("FNM.LNM");
+		verify(traineeDao, never()).findByField(any(), any());
+	}
+
+	@Test
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	void concurrentRegistrations_getDistinctUsernames() throws Exception {
+		// trainees and trainers live in separate tables but share the username space
+		int registrations = 12;
+		// widen the gap between reading the stored suffixes and reserving the next one,
+		// so early registrations commit while later ones are still in between
+		AtomicInteger reads = new AtomicInteger();
+		doAnswer(invocation -> {
+			Object stored = invocation.callRealMethod();
+			Thread.sleep(reads.getAndIncrement() * 50L);
+			return stored;
+		}).when(traineeDao).findUserNamesStartingWith("Same.Name");
+
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<String>> futures = new ArrayList<>();
+		Set<String> usernames = new HashSet<>();
+
+		try (ExecutorService executor = Executors.newFixedThreadPool(registrations)) {
+			for (int i = 0; i < registrations; i++) {
+				boolean trainee = i % 2 == 0;
+				futures.add(executor.submit(() -> {
+					User user = new User();
+					user.setFirstName("Same");
+					user.setLastName("Name");
+					user.setActive(true);
+					start.await();
+					return trainee
+							? gymFacade.createTrainee(user, LocalDate.of(1990, 1, 1), "Street").getUsername()
+							: gymFacade.createTrainer(user, "Yoga").getUsername();
+				}));
+			}
+			start.countDown();
+
+			for (Future<String> future : futures) {
+				usernames.add(future.get());
+			}
+		} finally {
+			gymFacade.deleteByTraineeUserName(username);
+			for (Future<String> future : futures) {
+				if (future.state() != Future.State.SUCCESS)
+					continue;
+				String created = future.resultNow();
+				if (gymFacade.selectByTraineeName(created).isPresent())
+					gymFacade.deleteByTraineeUserName(created);
+				else
+					gymFacade.deleteTrainerByUserName(created);
+			}
+		}
+
+		assertEquals(registrations, usernames.size());
+		assertTrue(usernames.contains("Same.Name"));
+		assertTrue(usernames.contains("Same.Name" + (registrations - 1)));
+	}
+
+	@Test
+	void storage_findByField_bindsTypedValuesAndRejectsUnknownFields() throws Exception {
+		assertEquals(1, traineeStorage.findByField("username", username).size());
+		assertTrue(traineeStorage.findByField("username", username + "' or '1' = '1").isEmpty());
+		assertTrue(traineeStorage.findByField("isActive", "true").stream()
+				.anyMatch(trainee -> trainee.getUsername().equals(username)));
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		traineeStorage.findByField("username", username);
+		assertEquals(0, statistics.getQueryPlanCacheMissCount());
+		assertTrue(statistics.getQueryPlanCacheHitCount() > 0);
+
+		assertThrows(IllegalArgumentException.class, () -> traineeStorage.findByField("user_name", username));
+		assertThrows(IllegalArgumentException.class, () -> traineeStorage.findByField("username = username or 1", "1"));
+		assertThrows(IllegalArgumentException.class, () -> traineeStorage.findByField("trainings", "1"));
+	}
+
 	@Test
 	void delete_trainee_returns204() throws Exception {
 		mockMvc.perform(delete("/trainees/{username}", username)
 						.header("Authorization", authHeader()))
 				.andExpect(status().isNoContent());
 	}
+
+	@Test
+	void traineeProfile_notModifiedUntilUpdated() throws Exception {
+		String eTag = mockMvc.perform(get("/trainees/{username}", username)
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(header().exists("ETag"))
+				.andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/trainees/{username}", username)
+						.header("If-None-Match", eTag)
+						.header("Authorization", authHeader()))
+				.andExpect(status().isNotModified());
+
+		mockMvc.perform(put("/trainees/{username}", username)
+						.header("Authorization", authHeader())
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(new ObjectMapper().writeValueAsString(
+								new UpdateTraineeRequest("CHANGED", "LNM", null, null, true))))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/trainees/{username}", username)
+						.header("If-None-Match", eTag)
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainee.firstName").value("CHANGED"));
+	}
+
+	@Test
+	void changePassword_oldCredentialsRejectedImmediately() throws Exception {
+		mockMvc.perform(get("/trainees/{username}", username)
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(put("/auth/users/{username}/password", username)
+						.param("newPassword", "changed-password")
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/trainees/{username}", username)
+						.header("Authorization", authHeader()))
+				.andExpect(status().isUnauthorized());
+
+		mockMvc.perform(get("/trainees/{username}", username)
+						.header("Authorization", authHeader(username, "changed-password")))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void bearerToken_authenticatesUntilPasswordChange() throws Exception {
+		String response = mockMvc.perform(post("/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(new ObjectMapper().writeValueAsString(new LoginRequest(username, password))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tokenType").value("Bearer"))
+				.andReturn().getResponse().getContentAsString();
+
+		String accessToken = response.split("\"accessToken\":\"")[1].split("\"")[0];
+		String refreshToken = response.split("\"refreshToken\":\"")[1].split("\"")[0];
+
+		mockMvc.perform(get("/trainees/{username}", username)
+						.header("Authorization", "Bearer " + accessToken))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(post("/auth/refresh")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(new ObjectMapper().writeValueAsString(new RefreshTokenRequest(refreshToken))))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.accessToken").isNotEmpty());
+
+		mockMvc.perform(put("/auth/users/{username}/password", username)
+						.param("newPassword", "changed-password")
+						.header("Authorization", "Bearer " + accessToken))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/trainees/{username}", username)
+						.header("Authorization", "Bearer " + accessToken))
+				.andExpect(status().isUnauthorized());
+
+		mockMvc.perform(post("/auth/refresh")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(new ObjectMapper().writeValueAsString(new RefreshTokenRequest(refreshToken))))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void bearerToken_authenticatesWithoutCredentialsQuery() throws Exception {
+		String response = mockMvc.perform(post("/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(new ObjectMapper().writeValueAsString(new LoginRequest(username, password))))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		String accessToken = response.split("\"accessToken\":\"")[1].split("\"")[0];
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		entityManager.flush();
+		entityManager.clear();
+		credentialsCache.invalidate(username);
+		statistics.clear();
+
+		mockMvc.perform(get("/trainees/{username}", username)
+						.header("Authorization", "Bearer " + accessToken))
+				.andExpect(status().isOk());
+
+		// version probe, trainee with trainings and trainers; the token is checked in memory
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void refreshToken_revokedByStoredPasswordChangedElsewhere() throws Exception {
+		String response = mockMvc.perform(post("/auth/login")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(new ObjectMapper().writeValueAsString(new LoginRequest(username, password))))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+
+		String accessToken = response.split("\"accessToken\":\"")[1].split("\"")[0];
+		String refreshToken = response.split("\"refreshToken\":\"")[1].split("\"")[0];
+
+		// another instance, or this one before a restart, changed the password: nothing in this process was told
+		entityManager.createQuery("update Trainee u set u.password = :password where u.username = :username")
+				.setParameter("password", "{noop}changed-elsewhere")
+				.setParameter("username", username)
+				.executeUpdate();
+
+		// the access token lives out its short ttl, the refresh token is checked against the stored password
+		mockMvc.perform(get("/trainees/{username}", username)
+						.header("Authorization", "Bearer " + accessToken))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(post("/auth/refresh")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(new ObjectMapper().writeValueAsString(new RefreshTokenRequest(refreshToken))))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void trainingTypes_revalidatedWithETag() throws Exception {
+		String eTag = mockMvc.perform(get("/trainings/types"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists("ETag"))
+				.andExpect(jsonPath("$.trainingTypes").isArray())
+				.andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get("/trainings/types")
+						.header("If-None-Match", eTag))
+				.andExpect(status().isNotModified());
+	}
+
+	@Test
+	void bulkLoader_loadsUsersAndTrainingsFromFile() throws Exception {
+		assertEquals(6, bulkEntityLoader.load("classpath:initial-data.json"));
+
+		mockMvc.perform(get("/trainers/{username}", "jdoe")
+						.header("Authorization", "Basic " + Base64.getEncoder().encodeToString("jdoe:password123".getBytes())))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainer.specialization").value("Yoga"))
+				.andExpect(jsonPath("$.trainees[0].firstName").value("Alice"));
+
+		assertTrue(gymFacade.selectCredentials("jdoe").orElseThrow().password().startsWith("{bcrypt}"));
+		assertTrue(gymFacade.selectCredentials(username).orElseThrow().password().startsWith("{bcrypt}"));
+	}
+
+	@Test
+	void traineeTrainings_filteredByTrainerAndPeriod() throws Exception {
+		String[] trainer = createTrainer("TRF", "TRL");
+		addTraining(trainer, "Yoga", "2025-01-10");
+		addTraining(trainer, "Yoga", "2025-03-10");
+
+		mockMvc.perform(get("/trainees/{username}/trainings", username)
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainings.length()").value(2));
+
+		mockMvc.perform(get("/trainees/{username}/trainings", username)
+						.param("periodFrom", "2025-02-01")
+						.param("trainerName", trainer[0])
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainings.length()").value(1))
+				.andExpect(jsonPath("$.trainings[0].trainingDate").value("2025-03-10"));
+
+		mockMvc.perform(get("/trainees/{username}/trainings", username)
+						.param("trainerName", "nobody")
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainings.length()").value(0));
+
+		mockMvc.perform(get("/trainers/{username}/trainings", trainer[0])
+						.param("periodTo", "2025-02-01")
+						.param("traineeName", username)
+						.header("Authorization", authHeader(trainer[0], trainer[1])))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1))
+				.andExpect(jsonPath("$[0].trainingDate").value("2025-01-10"));
+	}
+
+	@Test
+	void traineeTrainings_boundsInclusiveOpenEndedAndOneStatement() throws Exception {
+		String[] first = createTrainer("TBA", "TBL");
+		String[] second = createTrainer("TBB", "TBL");
+		for (int day = 1; day <= 9; day++) {
+			addTraining(day % 2 == 0 ? first : second, "Yoga", "2025-04-0" + day);
+		}
+
+		mockMvc.perform(get("/trainees/{username}/trainings", username)
+						.param("periodFrom", "2025-04-03")
+						.param("periodTo", "2025-04-05")
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainings[*].trainingDate", contains("2025-04-03", "2025-04-04", "2025-04-05")));
+
+		mockMvc.perform(get("/trainees/{username}/trainings", username)
+						.param("periodTo", "2025-04-02")
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainings[*].trainingDate", contains("2025-04-01", "2025-04-02")));
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+
+		mockMvc.perform(get("/trainees/{username}/trainings", username)
+						.param("periodFrom", "2025-04-06")
+						.param("trainerName", first[0])
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainings[*].trainingDate", contains("2025-04-06", "2025-04-08")))
+				.andExpect(jsonPath("$.trainings[*].trainerName", everyItem(equalTo(first[0]))));
+
+		// credentials, trainee version probe, trainings; no per-training trainer lookups
+		assertEquals(3, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+		verify(trainingDao).findTraineeTrainings(username, first[0], LocalDate.parse("2025-04-06"), null);
+	}
+
+	@Test
+	void trainerTrainings_rangeOrderedByDateAndFollowsDeletes() throws Exception {
+		String[] trainer = createTrainer("TSA", "TSL");
+		addTraining(trainer, "Yoga", "2025-06-20");
+		addTraining(trainer, "Yoga", "2025-06-01");
+		addTraining(trainer, "Yoga", "2025-06-10");
+
+		String other = mockMvc.perform(post("/trainees")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"firstName\": \"OTF\", \"lastName\": \"OTL\"}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString().split("\"username\":\"")[1].split("\"")[0];
+		mockMvc.perform(post("/trainings")
+						.header("Authorization", authHeader(trainer[0], trainer[1]))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(String.format("""
+								{"traineeUsername": "%s", "trainerUsername": "%s", "trainingName": "Yoga",
+								 "trainingDate": "2025-06-15", "duration": 60}
+								""", other, trainer[0])))
+				.andExpect(status().isCreated());
+
+		mockMvc.perform(get("/trainers/{username}/trainings", trainer[0])
+						.param("periodFrom", "2025-06-10")
+						.param("periodTo", "2025-06-20")
+						.header("Authorization", authHeader(trainer[0], trainer[1])))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].trainingDate", contains("2025-06-10", "2025-06-15", "2025-06-20")));
+
+		mockMvc.perform(get("/trainers/{username}/trainings", trainer[0])
+						.param("periodFrom", "2025-06-02")
+						.param("traineeName", username)
+						.header("Authorization", authHeader(trainer[0], trainer[1])))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].trainingDate", contains("2025-06-10", "2025-06-20")));
+
+		// each request has its own persistence context outside this test transaction
+		entityManager.flush();
+		entityManager.clear();
+		gymFacade.deleteByTraineeUserName(other);
+
+		mockMvc.perform(get("/trainers/{username}/trainings", trainer[0])
+						.header("Authorization", authHeader(trainer[0], trainer[1])))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$[*].trainingDate", contains("2025-06-01", "2025-06-10", "2025-06-20")));
+	}
+
+	@Test
+	void training_uniquePerTraineeTrainerAndDate() throws Exception {
+		String[] trainer = createTrainer("TUF", "TUL");
+		addTraining(trainer, "Yoga", "2025-01-10");
+		addTraining(trainer, "Yoga", "2025-01-11");
+		addTraining(trainer, "Pilates", "2025-01-10", status().isConflict());
+
+		Long traineeId = gymFacade.selectByTraineeName(username).orElseThrow().getUserId();
+		Long trainerId = gymFacade.selectTrainerByUserName(trainer[0]).orElseThrow().getUserId();
+
+		Training first = gymFacade.selectTraining(traineeId, trainerId, LocalDate.of(2025, 1, 10), null).orElseThrow();
+		Training second = gymFacade.selectTraining(traineeId, trainerId, LocalDate.of(2025, 1, 11), null).orElseThrow();
+
+		assertEquals("Yoga", first.getTrainingName());
+		assertTrue(second.getId() > first.getId());
+	}
+
+	@Test
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	void training_concurrentDuplicateRejectedByConstraintAsConflict() throws Exception {
+		String[] trainer = null;
+		try {
+			trainer = createTrainer("TRF", "TRL");
+			addTraining(trainer, "RaceYoga", "2025-05-01");
+
+			// the other request committed between this one's natural-key check and its insert
+			doReturn(Optional.empty()).when(trainingDao).findByNaturalKey(any(), any(), any());
+
+			addTraining(trainer, "RaceYoga", "2025-05-01", status().isConflict());
+		} finally {
+			gymFacade.deleteByTraineeUserName(username);
+			if (trainer != null)
+				gymFacade.deleteTrainerByUserName(trainer[0]);
+			new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager
+					.createQuery("delete from TrainingType t where t.trainingTypeName = 'RaceYoga'")
+					.executeUpdate());
+		}
+	}
+
+	@Test
+	void trainingBatch_reportsPerItemResultsAndInsertsValidOnes() throws Exception {
+		String[] trainer = createTrainer("TBF", "TBL");
+		String[] other = createTrainer("TBO", "TBL");
+		addTraining(trainer, "Yoga", "2025-02-01");
+
+		String item = """
+            {"traineeUsername": "%s", "trainerUsername": "%s", "trainingName": "%s", "trainingDate": "%s", "duration": 45}""";
+		String batchJson = "{\"trainings\": [" + String.join(",",
+				String.format(item, username, trainer[0], "Yoga", "2025-02-02"),
+				String.format(item, username, trainer[0], "BatchBoxing", "2025-02-03"),
+				String.format(item, username, trainer[0], "Yoga", "2025-02-01"),
+				String.format(item, username, trainer[0], "Yoga", "2025-02-02"),
+				String.format(item, "No.Such", trainer[0], "Yoga", "2025-02-04"),
+				String.format(item, username, other[0], "Yoga", "2025-02-05"),
+				String.format(item, username, trainer[0], "", "2025-02-06")) + "]}";
+
+		mockMvc.perform(post("/trainings/batch")
+						.header("Authorization", authHeader(trainer[0], trainer[1]))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content(batchJson))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.created").value(2))
+				.andExpect(jsonPath("$.rejected").value(5))
+				.andExpect(jsonPath("$.results[0].status").value("CREATED"))
+				.andExpect(jsonPath("$.results[1].status").value("CREATED"))
+				.andExpect(jsonPath("$.results[2].status").value("DUPLICATE"))
+				.andExpect(jsonPath("$.results[3].status").value("DUPLICATE"))
+				.andExpect(jsonPath("$.results[4].status").value("NOT_FOUND"))
+				.andExpect(jsonPath("$.results[5].status").value("FORBIDDEN"))
+				.andExpect(jsonPath("$.results[6].status").value("INVALID"));
+
+		mockMvc.perform(get("/trainees/{username}/trainings", username)
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainings.length()").value(3))
+				.andExpect(jsonPath("$.trainings[?(@.trainingType.trainingTypeName == 'BatchBoxing')]").isNotEmpty());
+
+		mockMvc.perform(post("/trainings/batch")
+						.header("Authorization", authHeader(trainer[0], trainer[1]))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"trainings\": []}"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void cacheMetrics_boundPerCache() throws Exception {
+		gymFacade.selectByTraineeName(username);
+		gymFacade.selectByTraineeName(username);
+
+		for (String cache : List.of("traineeIdCache", "trainerIdCache", "credentialsCache")) {
+			meterRegistry.get("cache.size").tag("cache", cache).gauge();
+			meterRegistry.get("cache.evictions").tag("cache", cache).functionCounter();
+		}
+		assertTrue(meterRegistry.get("cache.gets").tags("cache", "traineeIdCache", "result", "hit")
+				.functionCounter().count() >= 1);
+	}
+
+	@Test
+	void usernameCache_populatedOnLookupAndInvalidatedOnWrites() throws Exception {
+		Long id = gymFacade.selectByTraineeName(username).orElseThrow().getUserId();
+		assertEquals(Optional.of(id), traineeIdCache.get(username));
+
+		gymFacade.activateTrainee(id, false);
+		assertEquals(Optional.empty(), traineeIdCache.get(username));
+		assertEquals(id, gymFacade.selectByTraineeName(username).orElseThrow().getUserId());
+
+		gymFacade.deleteByTraineeUserName(username);
+		assertEquals(Optional.empty(), traineeIdCache.get(username));
+		assertTrue(gymFacade.selectByTraineeName(username).isEmpty());
+	}
+
+	@Test
+	void actuatorEndpoints_restrictedToOperator() throws Exception {
+		for (String endpoint : List.of("/actuator/metrics", "/actuator/prometheus")) {
+			mockMvc.perform(get(endpoint))
+					.andExpect(status().isUnauthorized());
+			mockMvc.perform(get(endpoint)
+							.header("Authorization", authHeader()))
+					.andExpect(status().isForbidden());
+			mockMvc.perform(get(endpoint)
+							.header("Authorization", operatorAuthHeader()))
+					.andExpect(status().isOk());
+		}
+
+		mockMvc.perform(get("/actuator/health")
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	void trainingBatch_commitsChunksIndependentlyAndReportsFailedOnes() throws Exception {
+		// chunk size is 2 in the test profile: chunks [0,1] [2,3] [4], the second one fails
+		doCallRealMethod()
+				.doThrow(new IllegalStateException("chunk failure"))
+				.doCallRealMethod()
+				.when(trainingBatchDao).insert(anyList());
+
+		String[] trainer = null;
+		try {
+			trainer = createTrainer("TCF", "TCL");
+
+			String item = """
+            {"traineeUsername": "%s", "trainerUsername": "%s", "trainingName": "ChunkYoga", "trainingDate": "%s", "duration": 30}""";
+			String batchJson = "{\"trainings\": [" + String.join(",",
+					String.format(item, username, trainer[0], "2025-04-01"),
+					String.format(item, username, trainer[0], "2025-04-02"),
+					String.format(item, username, trainer[0], "2025-04-03"),
+					String.format(item, username, trainer[0], "2025-04-04"),
+					String.format(item, username, trainer[0], "2025-04-05")) + "]}";
+
+			mockMvc.perform(post("/trainings/batch")
+							.header("Authorization", authHeader(trainer[0], trainer[1]))
+							.contentType(MediaType.APPLICATION_JSON)
+							.content(batchJson))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.created").value(3))
+					.andExpect(jsonPath("$.rejected").value(2))
+					.andExpect(jsonPath("$.results[*].status").value(
+							contains("CREATED", "CREATED", "FAILED", "FAILED", "CREATED")));
+
+			mockMvc.perform(get("/trainees/{username}/trainings", username)
+							.header("Authorization", authHeader()))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.trainings[*].trainingDate").value(
+							containsInAnyOrder("2025-04-01", "2025-04-02", "2025-04-05")));
+		} finally {
+			gymFacade.deleteByTraineeUserName(username);
+			if (trainer != null)
+				gymFacade.deleteTrainerByUserName(trainer[0]);
+			new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager
+					.createQuery("delete from TrainingType t where t.trainingTypeName = 'ChunkYoga'")
+					.executeUpdate());
+		}
+	}
+
+	@Test
+	void persistenceMetrics_recordedPerEntityAndOperation() throws Exception {
+		String[] trainer = createTrainer("PMF", "PML");
+		addTraining(trainer, "MetricsType", "2025-03-01");
+
+		assertTrue(meterRegistry.get("storage.operation")
+				.tags("entity", "Trainee", "operation", "put", "outcome", "success").timer().count() >= 1);
+		assertTrue(meterRegistry.get("storage.operation")
+				.tags("entity", "TrainingType", "operation", "create", "outcome", "success").timer().count() >= 1);
+		assertTrue(meterRegistry.get("storage.rows")
+				.tags("entity", "Trainer", "operation", "findByField").summary().totalAmount() >= 1);
+	}
+
+	@Test
+	void endpointLatency_reportedPerRouteTemplateAndStatusClass() throws Exception {
+		mockMvc.perform(get("/trainees/{username}", username)
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/trainees/{username}", "No.Such")
+						.header("Authorization", authHeader()))
+				.andExpect(status().is4xxClientError());
+
+		endpointLatencyRecorder.rollover();
+
+		String route = "$.routes[?(@.route == 'GET /trainees/{username}' && @.status == '%s')]";
+		mockMvc.perform(get("/actuator/latency")
+						.header("Authorization", operatorAuthHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath(route.formatted("2xx")).isNotEmpty())
+				.andExpect(jsonPath(route.formatted("4xx")).isNotEmpty())
+				.andExpect(jsonPath(route.formatted("2xx") + ".p999Ms").value(everyItem(greaterThan(0.0))));
+
+		mockMvc.perform(get("/actuator/latency")
+						.header("Authorization", authHeader()))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void endpointLatency_unresolvedExceptionCountsAs5xx() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/latency-probe");
+		request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/latency-probe");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("endpointLatency_unresolvedExceptionCountsAs5xx"));
+
+		endpointLatencyInterceptor.preHandle(request, response, handler);
+		endpointLatencyInterceptor.afterCompletion(request, response, handler, new IllegalStateException("unresolved"));
+		endpointLatencyRecorder.rollover();
+
+		assertTrue(endpointLatencyRecorder.report().routes().stream()
+				.anyMatch(stats -> stats.route().equals("GET /latency-probe") && stats.status().equals("5xx")));
+		assertTrue(endpointLatencyRecorder.report().routes().stream()
+				.noneMatch(stats -> stats.route().equals("GET /latency-probe") && stats.status().equals("2xx")));
+	}
+
+	@Test
+	void profileAndTrainings_loadInBoundedStatements() throws Exception {
+		String[] first = createTrainer("PSA", "PSL");
+		String[] second = createTrainer("PSB", "PSL");
+		addTraining(first, "Yoga", "2025-01-10");
+		addTraining(second, "Yoga", "2025-01-11");
+		addTraining(second, "Yoga", "2025-01-12");
+
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+
+		mockMvc.perform(get("/trainees/{username}", username)
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainers.length()").value(2));
+
+		// version probe, credentials, trainee with trainings and trainers
+		assertEquals(3, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+
+		entityManager.clear();
+		statistics.clear();
+
+		mockMvc.perform(get("/trainees/{username}/trainings", username)
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainings.length()").value(3));
+
+		// credentials, trainee version probe, trainings with trainer, trainee and type
+		assertEquals(3, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount());
+	}
+
+	@Test
+	void trainingsExport_streamsCommittedTrainingsAsNdjson() throws Exception {
+		// the export reads through its own session, so the fixture has to be committed
+		TransactionTemplate committed = new TransactionTemplate(transactionManager);
+		committed.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+		List<String> expected = committed.execute(status -> {
+			Trainee trainee = new Trainee("Exp", "Trainee", "Exp.Trainee", "{noop}secret", true,
+					LocalDate.of(1990, 1, 1), "Export Street");
+			Trainer trainer = new Trainer("Exp", "Trainer", "Exp.Trainer", "{noop}secret", true, "Yoga");
+			TrainingType type = new TrainingType("ExportType");
+			Training first = new Training(trainee, trainer, "Export A", type, LocalDate.of(2025, 2, 1), 30);
+			Training second = new Training(trainee, trainer, "Export B", type, LocalDate.of(2025, 3, 1), 45);
+			entityManager.persist(trainee);
+			entityManager.persist(trainer);
+			entityManager.persist(type);
+			entityManager.persist(first);
+			entityManager.persist(second);
+			try {
+				return List.of(objectMapper.writeValueAsString(new TrainingDTO(first)),
+						objectMapper.writeValueAsString(new TrainingDTO(second)));
+			} catch (JsonProcessingException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+
+		try {
+			MvcResult all = mockMvc.perform(get("/trainings/export")
+							.param("trainingType", "ExportType")
+							.header("Authorization", authHeader()))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+
+			String body = mockMvc.perform(asyncDispatch(all))
+					.andExpect(status().isOk())
+					.andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+					.andReturn().getResponse().getContentAsString();
+
+			assertEquals(expected.get(0) + "\n" + expected.get(1) + "\n", body);
+
+			MvcResult filtered = mockMvc.perform(get("/trainings/export")
+							.param("trainingType", "ExportType")
+							.param("periodFrom", "2025-02-15")
+							.header("Authorization", authHeader()))
+					.andExpect(request().asyncStarted())
+					.andReturn();
+
+			String filteredBody = mockMvc.perform(asyncDispatch(filtered))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString();
+
+			assertEquals(expected.get(1) + "\n", filteredBody);
+
+			mockMvc.perform(get("/trainings/export"))
+					.andExpect(status().isUnauthorized());
+		} finally {
+			committed.executeWithoutResult(status -> {
+				entityManager.createQuery("delete from Training t where t.trainingType.trainingTypeName = 'ExportType'").executeUpdate();
+				entityManager.createQuery("delete from Trainee u where u.username = 'Exp.Trainee'").executeUpdate();
+				entityManager.createQuery("delete from Trainer u where u.username = 'Exp.Trainer'").executeUpdate();
+				entityManager.createQuery("delete from TrainingType t where t.trainingTypeName = 'ExportType'").executeUpdate();
+			});
+		}
+	}
+
+	@Test
+	void notAssignedTrainers_excludesAssignedAndPagesByUsername() throws Exception {
+		String[] assigned = createTrainer("NAA", "NAL");
+		String[] first = createTrainer("NAB", "NAL");
+		String[] second = createTrainer("NAC", "NAL");
+		addTraining(assigned, "Yoga", "2025-01-10");
+
+		mockMvc.perform(get("/trainees/{username}/not-assigned-trainers", username)
+						.param("after", "NAA.NAL")
+						.param("limit", "1")
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainers.length()").value(1))
+				.andExpect(jsonPath("$.trainers[0].username").value(first[0]))
+				.andExpect(jsonPath("$.after").value(first[0]));
+
+		mockMvc.perform(get("/trainees/{username}/not-assigned-trainers", username)
+						.param("after", first[0])
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainers[0].username").value(second[0]))
+				.andExpect(jsonPath("$.trainers[?(@.username == '" + assigned[0] + "')]").isEmpty())
+				.andExpect(jsonPath("$.after").doesNotExist());
+	}
+
+	@Test
+	void notAssignedTrainers_skipsInactiveAndRejectsNonPositiveLimit() throws Exception {
+		String[] active = createTrainer("NIA", "NIL");
+		String[] inactive = createTrainer("NIB", "NIL");
+
+		mockMvc.perform(patch("/trainers/{username}/active", inactive[0])
+						.header("Authorization", authHeader(inactive[0], inactive[1]))
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"isActive\": false}"))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(get("/trainees/{username}/not-assigned-trainers", username)
+						.param("after", "NIA")
+						.param("limit", "1")
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainers[*].username", contains(active[0])));
+
+		mockMvc.perform(get("/trainees/{username}/not-assigned-trainers", username)
+						.param("after", active[0])
+						.param("limit", "1")
+						.header("Authorization", authHeader()))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.trainers[?(@.username == '" + inactive[0] + "')]").isEmpty());
+
+		mockMvc.perform(get("/trainees/{username}/not-assigned-trainers", username)
+						.param("limit", "0")
+						.header("Authorization", authHeader()))
+				.andExpect(status().isBadRequest());
+	}
 }
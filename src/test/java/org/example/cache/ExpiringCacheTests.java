@@ -0,0 +1,110 @@
+package org.example.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringCacheTests {
+
+	private final AtomicLong now = new AtomicLong();
+
+	private ExpiringCache<String, Long> cache(int maxSize, int segments) {
+		return new ExpiringCache<>(maxSize, Duration.ofSeconds(10), segments, now::get);
+	}
+
+	@Test
+	void get_hitsUntilTtlThenExpires() {
+		ExpiringCache<String, Long> cache = cache(4, 1);
+		cache.put("a", 1L);
+
+		now.addAndGet(Duration.ofSeconds(10).toNanos());
+		assertEquals(Optional.of(1L), cache.get("a"));
+
+		now.incrementAndGet();
+		assertEquals(Optional.empty(), cache.get("a"));
+		assertEquals(0, cache.size());
+
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(1, cache.getEvictions());
+	}
+
+	@Test
+	void put_evictsLeastRecentlyUsedBeyondMaxSize() {
+		ExpiringCache<String, Long> cache = cache(2, 1);
+		cache.put("a", 1L);
+		cache.put("b", 2L);
+		cache.get("a");
+		cache.put("c", 3L);
+
+		assertEquals(Optional.of(1L), cache.get("a"));
+		assertEquals(Optional.empty(), cache.get("b"));
+		assertEquals(Optional.of(3L), cache.get("c"));
+		assertEquals(1, cache.getEvictions());
+	}
+
+	@Test
+	void size_boundedAcrossSegments() {
+		ExpiringCache<String, Long> cache = cache(10, 4);
+		for (long i = 0; i < 100; i++) {
+			cache.put("user" + i, i);
+		}
+
+		assertTrue(cache.size() <= 10);
+		assertEquals(100 - cache.size(), cache.getEvictions());
+	}
+
+	@Test
+	void invalidateValue_removesEveryKeyMappedToIt() {
+		ExpiringCache<String, Long> cache = cache(8, 4);
+		cache.put("old.name", 7L);
+		cache.put("new.name", 7L);
+		cache.put("other", 8L);
+
+		cache.invalidateValue(7L);
+
+		assertEquals(Optional.empty(), cache.get("old.name"));
+		assertEquals(Optional.empty(), cache.get("new.name"));
+		assertEquals(Optional.of(8L), cache.get("other"));
+	}
+
+	@Test
+	void invalidateValue_keepsKeysRemappedToAnotherValue() {
+		ExpiringCache<String, Long> cache = cache(8, 2);
+		cache.put("a", 1L);
+		cache.put("a", 2L);
+
+		cache.invalidateValue(1L);
+		assertEquals(Optional.of(2L), cache.get("a"));
+
+		cache.invalidate("a");
+		cache.invalidateValue(2L);
+		cache.put("a", 3L);
+		assertEquals(Optional.of(3L), cache.get("a"));
+	}
+
+	@Test
+	void invalidateValue_ignoresEvictedKeys() {
+		ExpiringCache<String, Long> cache = cache(1, 1);
+		cache.put("a", 1L);
+		cache.put("b", 1L);
+
+		cache.invalidateValue(1L);
+		assertEquals(0, cache.size());
+
+		cache.put("a", 1L);
+		assertEquals(Optional.of(1L), cache.get("a"));
+	}
+
+	@Test
+	void constructor_rejectsInvalidSizes() {
+		assertThrows(IllegalArgumentException.class, () -> new ExpiringCache<>(0, Duration.ofSeconds(1)));
+		assertThrows(IllegalArgumentException.class, () -> cache(2, 3));
+	}
+}